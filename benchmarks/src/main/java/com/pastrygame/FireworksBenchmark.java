@@ -0,0 +1,51 @@
+package com.pastrygame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One frame of the win-screen fireworks (update plus render) at a steady particle population.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FireworksBenchmark {
+    @Param({"1000", "10000", "60000"})
+    private int particles;
+
+    private FireworksEngine engine;
+    private int frame;
+
+    @Setup
+    public void setUp() {
+        engine = new FireworksEngine(800, 600, 65_536);
+        engine.spawnBurst(400, 300, particles);
+    }
+
+    @Benchmark
+    public int frame() {
+        // Top the population back up, spread over a few burst origins like the win screen does.
+        int missing = particles - engine.getParticleCount();
+        if (missing > 0) {
+            frame++;
+            engine.spawnBurst(150 + (frame * 97) % 500, 200 + (frame * 53) % 250, missing);
+        }
+        engine.update();
+        engine.render();
+        return engine.getParticleCount();
+    }
+}
@@ -0,0 +1,80 @@
+package com.pastrygame;
+
+import com.pastrygame.engine.GameSession;
+import com.pastrygame.engine.HangmanLevel;
+import com.pastrygame.engine.IngredientLevel;
+import com.pastrygame.engine.MemoryLevel;
+import com.pastrygame.engine.PuzzleLevel;
+import com.pastrygame.engine.RecipeCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole winning round played through the headless rules engine, one level after the other,
+ * without any JavaFX involved. Reported as rounds per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameRoundBenchmark {
+    private static final List<String> RECIPE = List.of("Flour", "Sugar", "Eggs", "Milk", "Butter", "Baking Powder");
+    private static final char[] GUESSES = "eaoitsnrlcuhmgbvfkd".toCharArray();
+
+    private final RecipeCatalog catalog = RecipeCatalog.getInstance();
+    private final int oil = catalog.ingredientId("Oil");
+    private final Random random = new Random(7);
+    private final GameSession session = new GameSession();
+
+    @Benchmark
+    public int playRound() {
+        session.reset();
+        IngredientLevel ingredients = new IngredientLevel(catalog, RECIPE, session);
+        ingredients.setSelected(oil, true);
+        ingredients.submit();
+        for (String ingredient : RECIPE) {
+            ingredients.setSelected(catalog.ingredientId(ingredient), true);
+        }
+        ingredients.submit();
+
+        PuzzleLevel puzzle = new PuzzleLevel(2, 60, random);
+        for (int piece = 0; piece < puzzle.getPieceCount(); piece++) {
+            puzzle.place(piece, (piece + 1) % puzzle.getPieceCount());
+            puzzle.place(piece, piece);
+            puzzle.tick();
+        }
+
+        MemoryLevel memory = new MemoryLevel(MemoryMatchScene.CARD_IMAGES, random);
+        for (int a = 0; a < memory.getCardCount(); a++) {
+            for (int b = a + 1; b < memory.getCardCount() && !memory.isMatched(a); b++) {
+                memory.flip(a);
+                if (memory.flip(b) == MemoryLevel.FlipResult.MISMATCH) {
+                    memory.hideMismatch();
+                }
+            }
+        }
+
+        HangmanLevel hangman = new HangmanLevel("chocolate", session);
+        hangman.hint();
+        for (char guess : GUESSES) {
+            HangmanLevel.GuessResult result = hangman.guess(guess);
+            if (result == HangmanLevel.GuessResult.WON || result == HangmanLevel.GuessResult.LOST) {
+                break;
+            }
+        }
+        return session.getMistakes() + memory.getPairsFound() + puzzle.getTimeLeft();
+    }
+}
@@ -0,0 +1,73 @@
+package com.pastrygame;
+
+import com.pastrygame.engine.GameSession;
+import com.pastrygame.engine.HangmanLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hint selection, level setup and guess handling of {@link HangmanLevel}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HangmanBenchmark {
+    private static final char[] GUESSES = "eaoitsnrlcuhmgbvfk".toCharArray();
+
+    @Param({"milk", "chocolate", "olive-oil", "a piece of cake with extra chocolate frosting"})
+    private String phrase;
+
+    private final GameSession session = new GameSession();
+    private HangmanLevel halfwayLevel;
+
+    @Setup
+    public void setUp() {
+        // Halfway through a round: a few letters guessed, some of them wrong.
+        halfwayLevel = new HangmanLevel(phrase, new GameSession());
+        halfwayLevel.guess('e');
+        halfwayLevel.guess('a');
+        halfwayLevel.guess('x');
+        halfwayLevel.guess('z');
+    }
+
+    @Benchmark
+    public char leastFrequentLetter() {
+        return halfwayLevel.leastFrequentLetter();
+    }
+
+    @Benchmark
+    public HangmanLevel newLevel() {
+        return new HangmanLevel(phrase, session);
+    }
+
+    // Includes creating the level; subtract newLevel for the cost of the guesses alone.
+    @Benchmark
+    public int processGuesses() {
+        session.reset();
+        HangmanLevel level = new HangmanLevel(phrase, session);
+        int hits = 0;
+        for (char guess : GUESSES) {
+            HangmanLevel.GuessResult result = level.guess(guess);
+            if (result == HangmanLevel.GuessResult.HIT) {
+                hits++;
+            } else if (result == HangmanLevel.GuessResult.WON || result == HangmanLevel.GuessResult.LOST) {
+                break;
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,80 @@
+package com.pastrygame;
+
+import com.pastrygame.engine.GameSession;
+import com.pastrygame.engine.IngredientLevel;
+import com.pastrygame.engine.RecipeCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The selected-versus-recipe ingredient check: the bitset grading of {@link IngredientLevel}
+ * next to the list-based containsAll check it replaced, with the bundled ingredient pool and
+ * with a generated pool of thousands of ingredients where everything is selected.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IngredientCheckBenchmark {
+    private static final List<String> RECIPE = List.of("Flour", "Milk", "Water", "Baking Powder", "Sugar", "Salt", "Butter");
+
+    @Param({"18", "2000"})
+    private int pool;
+
+    private final GameSession session = new GameSession();
+    private List<String> allIngredients;
+    private IngredientLevel everythingSelected;
+
+    @Setup
+    public void setUp() throws IOException {
+        RecipeCatalog bundled = RecipeCatalog.getInstance();
+        StringBuilder text = new StringBuilder();
+        allIngredients = new ArrayList<>();
+        for (int ingredient = 0; ingredient < pool; ingredient++) {
+            String name = ingredient < bundled.getIngredientCount()
+                    ? bundled.getIngredientName(ingredient) : "Ingredient " + ingredient;
+            allIngredients.add(name);
+            text.append("ingredient | ").append(name).append(" | /ingredients/salt.png\n");
+        }
+        RecipeCatalog catalog = RecipeCatalog.load(new ByteArrayInputStream(text.toString().getBytes(StandardCharsets.UTF_8)));
+        everythingSelected = new IngredientLevel(catalog, RECIPE, session);
+        for (int ingredient = 0; ingredient < pool; ingredient++) {
+            everythingSelected.setSelected(ingredient, true);
+        }
+    }
+
+    @Benchmark
+    public int bitsetGrade() {
+        return IngredientLevel.grade(everythingSelected.getCorrectCount(), everythingSelected.getExtraCount(),
+                everythingSelected.getRecipeSize()) + (everythingSelected.matches() ? 1 : 0);
+    }
+
+    @Benchmark
+    public boolean listCheck() {
+        return containsAllBothWays(allIngredients, RECIPE);
+    }
+
+    // The check IngredientScene ran before the bitset engine.
+    private static boolean containsAllBothWays(Collection<String> selected, Collection<String> recipe) {
+        return selected.containsAll(recipe) && recipe.containsAll(selected);
+    }
+}
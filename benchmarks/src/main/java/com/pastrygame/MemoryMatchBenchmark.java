@@ -0,0 +1,74 @@
+package com.pastrygame;
+
+import com.pastrygame.engine.MemoryLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The pair check of {@link MemoryLevel}: a mismatched pair turned over and back, and a whole
+ * board solved from a fresh shuffle, for the 4×4 board and the largest 12×12 one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MemoryMatchBenchmark {
+    @Param({"8", "72"})
+    private int pairs;
+
+    private final Random random = new Random(42);
+    private MemoryLevel level;
+    private int first;
+    private int mismatch;
+
+    @Setup
+    public void setUp() {
+        level = new MemoryLevel(MemoryMatchScene.CARD_IMAGES, pairs, 0, random);
+        first = 0;
+        mismatch = 1;
+        while (level.getFaceId(mismatch) == level.getFaceId(first)) {
+            mismatch++;
+        }
+    }
+
+    @Benchmark
+    public boolean mismatchedPair() {
+        level.flip(first);
+        MemoryLevel.FlipResult result = level.flip(mismatch);
+        level.hideMismatch();
+        return result == MemoryLevel.FlipResult.MISMATCH;
+    }
+
+    @Benchmark
+    public int solveBoard() {
+        MemoryLevel board = new MemoryLevel(MemoryMatchScene.CARD_IMAGES, pairs, 0, random);
+        int cards = board.getCardCount();
+        for (int a = 0; a < cards; a++) {
+            if (board.isMatched(a)) {
+                continue;
+            }
+            for (int b = a + 1; b < cards; b++) {
+                if (!board.isMatched(b) && board.getFaceId(a) == board.getFaceId(b)) {
+                    board.flip(a);
+                    board.flip(b);
+                    break;
+                }
+            }
+        }
+        return board.getPairsFound();
+    }
+}
@@ -0,0 +1,178 @@
+package com.pastrygame;
+
+import com.pastrygame.engine.GameSession;
+import com.pastrygame.engine.RecipeCatalog;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays the game from the welcome screen to the win screen through {@link SceneManager}, several
+ * rounds in a row, and checks how long every screen transition takes. The recipe countdown is
+ * not skipped but sped up with {@link SceneManager#setTimeScale(double)}, so it still triggers
+ * the ingredient screen itself.
+ * <p>
+ * For every transition it records the swap inside SceneManager and the wall-clock time from
+ * asking for the transition to the end of the first pulse that lays out the new screen. For the
+ * countdown transition the clock starts with the swap. The first visit of a screen builds it and
+ * has a budget of its own. Exits with status 1 when any transition is over its budget, so the
+ * {@code playthrough} profile fails the build:
+ * <pre>
+ *     mvn install
+ *     mvn -f benchmarks/pom.xml -Pplaythrough verify
+ * </pre>
+ * Options are system properties: {@code playthrough.rounds} (default 3),
+ * {@code playthrough.coldBudgetMs} for first visits (default 1500), {@code playthrough.budgetMs}
+ * for later ones (default 250) and {@code playthrough.budgetMs.<Screen>} for later visits of one
+ * screen, e.g. {@code -Dplaythrough.budgetMs.IngredientScene=400}. The JavaFX platform has to be
+ * headless, e.g. Monocle with {@code -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw}.
+ */
+public class PlaythroughHarness {
+    private static final long TIMEOUT_SECONDS = 30;
+    private static final double TIME_SCALE = 50;
+
+    private record Transition(int round, String screen, boolean cold, long swapNanos, long firstPulseNanos) {
+    }
+
+    // The transition being waited for, written by the harness thread and completed on the FX thread.
+    private record Expected(String screen, long requestedAt, CompletableFuture<Transition> done) {
+    }
+
+    private final int rounds = Integer.getInteger("playthrough.rounds", 3);
+    private final long coldBudgetMs = Long.getLong("playthrough.coldBudgetMs", 1500);
+    private final long defaultBudgetMs = Long.getLong("playthrough.budgetMs", 250);
+    private final List<Transition> transitions = new ArrayList<>();
+    private volatile Expected expected;
+    private SceneManager sceneManager;
+    private volatile int round;
+
+    public static void main(String[] args) throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        started.await();
+        int status = 1;
+        try {
+            status = new PlaythroughHarness().run() == 0 ? 0 : 1;
+        } finally {
+            // The FX threads would keep the JVM, and the build waiting on it, alive.
+            Platform.exit();
+            System.exit(status);
+        }
+    }
+
+    private int run() throws Exception {
+        onFxThread(() -> {
+            sceneManager = SceneManager.getInstance(new Stage());
+            sceneManager.setTimeScale(TIME_SCALE);
+            sceneManager.addTransitionListener(this::transitioned);
+        });
+        transition("WelcomeScene", () -> sceneManager.showWelcomeScene());
+        RecipeCatalog recipes = RecipeCatalog.getInstance();
+        GameSession.PuzzleMode[] puzzleModes = GameSession.PuzzleMode.values();
+        for (round = 0; round < rounds; round++) {
+            String pastry = recipes.getPastryName(round % recipes.getPastryCount());
+            GameSession.PuzzleMode puzzleMode = puzzleModes[round % puzzleModes.length];
+            transition("SelectionScene", () -> {
+                sceneManager.getSession().setPuzzleMode(puzzleMode);
+                sceneManager.showSelectionScene();
+            });
+            transition("RecipeScene", () -> sceneManager.showRecipeScene(pastry));
+            transition("IngredientScene", null);
+            transition(puzzleMode == GameSession.PuzzleMode.SLIDING ? "SlidingPuzzleScene" : "PuzzleScene",
+                    () -> sceneManager.showPuzzleScene());
+            transition("MemoryMatchScene", () -> sceneManager.showMemoryMatchScene());
+            transition("HangmanScene", () -> sceneManager.showHangmanScene());
+            transition("WinScene", () -> sceneManager.showWinScene());
+            transition("WelcomeScene", () -> sceneManager.restartGame());
+        }
+        return report();
+    }
+
+    // Asks for a transition with action, or with a null action waits for the game to make it.
+    private void transition(String screen, Runnable action) throws Exception {
+        Expected next = new Expected(screen, action == null ? 0 : System.nanoTime(), new CompletableFuture<>());
+        expected = next;
+        if (action != null) {
+            Platform.runLater(action);
+        }
+        Transition done = next.done().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        boolean cold = transitions.stream().noneMatch(transition -> transition.screen().equals(screen));
+        transitions.add(new Transition(done.round(), screen, cold, done.swapNanos(), done.firstPulseNanos()));
+    }
+
+    private void transitioned(PooledScene pooledScene, long swapNanos) {
+        Expected current = expected;
+        String screen = pooledScene.getClass().getSimpleName();
+        if (current == null || current.done().isDone()) {
+            return;
+        }
+        if (!screen.equals(current.screen())) {
+            current.done().completeExceptionally(new IllegalStateException(
+                    "Expected " + current.screen() + " in round " + round + " but got " + screen));
+            return;
+        }
+        long requestedAt = current.requestedAt() != 0 ? current.requestedAt() : System.nanoTime() - swapNanos;
+        int transitionRound = round;
+        Runnable firstPulse = new Runnable() {
+            @Override
+            public void run() {
+                sceneManager.getScene().removePostLayoutPulseListener(this);
+                current.done().complete(new Transition(transitionRound, screen, false, swapNanos, System.nanoTime() - requestedAt));
+            }
+        };
+        sceneManager.getScene().addPostLayoutPulseListener(firstPulse);
+    }
+
+    private int report() {
+        Map<String, List<Transition>> byScreen = new LinkedHashMap<>();
+        int violations = 0;
+        System.out.printf("%-5s %-20s %-5s %10s %14s %10s%n", "round", "screen", "visit", "swap us", "first pulse ms", "budget ms");
+        for (Transition transition : transitions) {
+            long budgetMs = transition.cold() ? coldBudgetMs : budgetMs(transition.screen());
+            double firstPulseMs = transition.firstPulseNanos() / 1e6;
+            boolean over = firstPulseMs > budgetMs;
+            if (over) {
+                violations++;
+            }
+            System.out.printf("%-5d %-20s %-5s %10d %14.1f %10d%s%n", transition.round(), transition.screen(),
+                    transition.cold() ? "cold" : "warm", transition.swapNanos() / 1_000, firstPulseMs, budgetMs, over ? "  OVER BUDGET" : "");
+            byScreen.computeIfAbsent(transition.screen(), screen -> new ArrayList<>()).add(transition);
+        }
+        System.out.println();
+        System.out.printf("%-20s %6s %16s %16s%n", "screen", "visits", "median pulse ms", "max pulse ms");
+        byScreen.forEach((screen, visits) -> {
+            long[] pulses = visits.stream().mapToLong(Transition::firstPulseNanos).toArray();
+            Arrays.sort(pulses);
+            System.out.printf("%-20s %6d %16.1f %16.1f%n", screen, pulses.length, pulses[pulses.length / 2] / 1e6,
+                    pulses[pulses.length - 1] / 1e6);
+        });
+        System.out.println(violations == 0 ? "All transitions within budget"
+                : violations + " transition(s) over budget");
+        return violations;
+    }
+
+    private long budgetMs(String screen) {
+        return Long.getLong("playthrough.budgetMs." + screen, defaultBudgetMs);
+    }
+
+    private static void onFxThread(Runnable action) throws Exception {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                action.run();
+                done.complete(null);
+            } catch (Throwable t) {
+                done.completeExceptionally(t);
+            }
+        });
+        done.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,70 @@
+package com.pastrygame;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slicing the puzzle source image into its pieces: the shared-image viewports
+ * {@link PuzzleScene#reset} sets up, next to copying every piece into its own WritableImage as
+ * the scene used to. Image and WritableImage work without a running FX application; the software
+ * pipeline keeps the forked JVM from probing for a GPU.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dprism.order=sw")
+@State(Scope.Thread)
+public class PuzzleSliceBenchmark {
+    @Param({"2", "10"})
+    private int gridSize;
+
+    private Image source;
+
+    @Setup
+    public void setUp() {
+        int size = PuzzleScene.IMAGE_SIZE;
+        WritableImage image = new WritableImage(size, size);
+        PixelWriter writer = image.getPixelWriter();
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                writer.setArgb(x, y, 0xFF000000 | (x << 16) | (y << 8) | ((x ^ y) & 0xFF));
+            }
+        }
+        source = image;
+    }
+
+    @Benchmark
+    public void viewports(Blackhole blackhole) {
+        for (int i = 0; i < gridSize * gridSize; i++) {
+            blackhole.consume(PuzzleScene.tileViewport(source, gridSize, i));
+        }
+    }
+
+    @Benchmark
+    public void copyPixels(Blackhole blackhole) {
+        int pieceWidth = (int) (source.getWidth() / gridSize);
+        int pieceHeight = (int) (source.getHeight() / gridSize);
+        for (int i = 0; i < gridSize * gridSize; i++) {
+            WritableImage piece = new WritableImage(pieceWidth, pieceHeight);
+            piece.getPixelWriter().setPixels(0, 0, pieceWidth, pieceHeight,
+                    source.getPixelReader(), i % gridSize * pieceWidth, i / gridSize * pieceHeight);
+            blackhole.consume(piece);
+        }
+    }
+}
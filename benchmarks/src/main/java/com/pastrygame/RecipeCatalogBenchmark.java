@@ -0,0 +1,77 @@
+package com.pastrygame;
+
+import com.pastrygame.engine.RecipeCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading {@link RecipeCatalog} and looking up a recipe by pastry name, for the bundled catalog
+ * and for a generated one with hundreds of pastries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RecipeCatalogBenchmark {
+    @Param({"3", "500"})
+    private int pastries;
+
+    private byte[] source;
+    private RecipeCatalog catalog;
+    private String lastPastry;
+
+    @Setup
+    public void setUp() throws IOException {
+        RecipeCatalog bundled = RecipeCatalog.getInstance();
+        StringBuilder text = new StringBuilder();
+        for (int ingredient = 0; ingredient < bundled.getIngredientCount(); ingredient++) {
+            text.append("ingredient | ").append(bundled.getIngredientName(ingredient))
+                    .append(" | ").append(bundled.getIngredientImage(ingredient)).append('\n');
+        }
+        for (int i = 0; i < pastries; i++) {
+            int template = i % bundled.getPastryCount();
+            text.append("pastry | ").append(bundled.getPastryName(template)).append(' ').append(i)
+                    .append(" | ").append(bundled.getPastryImage(template)).append('\n');
+            for (int entry = 0; entry < bundled.getRecipeSize(template); entry++) {
+                text.append("    ").append(bundled.getIngredientName(bundled.getRecipeIngredient(template, entry)))
+                        .append(" | ").append(bundled.getRecipeQuantity(template, entry))
+                        .append(" | ").append(bundled.getRecipeUnit(template, entry)).append('\n');
+            }
+        }
+        source = text.toString().getBytes(StandardCharsets.UTF_8);
+        catalog = load();
+        lastPastry = catalog.getPastryName(catalog.getPastryCount() - 1);
+    }
+
+    @Benchmark
+    public RecipeCatalog load() throws IOException {
+        return RecipeCatalog.load(new ByteArrayInputStream(source));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int lookupRecipe() {
+        int pastry = catalog.pastryId(lastPastry);
+        int total = 0;
+        for (int entry = 0; entry < catalog.getRecipeSize(pastry); entry++) {
+            total += catalog.getRecipeIngredient(pastry, entry) + catalog.getRecipeQuantity(pastry, entry);
+        }
+        return total;
+    }
+}
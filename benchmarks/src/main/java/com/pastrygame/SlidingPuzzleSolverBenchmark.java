@@ -0,0 +1,52 @@
+package com.pastrygame;
+
+import com.pastrygame.engine.SlidingPuzzle;
+import com.pastrygame.engine.SlidingPuzzleSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A hint for a freshly shuffled sliding-tile board, with the budget the scene gives the solver.
+ * The boards come from fixed seeds and are cycled through, so easy and hard shuffles are mixed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SlidingPuzzleSolverBenchmark {
+    private static final long BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Param({"3", "4", "5"})
+    private int size;
+
+    private byte[][] boards;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        boards = new byte[16][];
+        for (int seed = 0; seed < boards.length; seed++) {
+            boards[seed] = new SlidingPuzzle(size, new Random(seed)).copyTiles();
+        }
+    }
+
+    @Benchmark
+    public SlidingPuzzleSolver.Solution hint() {
+        next = (next + 1) % boards.length;
+        return SlidingPuzzleSolver.solve(boards[next], size, BUDGET_NANOS);
+    }
+}
@@ -0,0 +1,83 @@
+package com.pastrygame;
+
+import com.pastrygame.engine.GameSession;
+import com.pastrygame.engine.HangmanLevel;
+import com.pastrygame.engine.WordDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Candidate search, hint choice and word draws of {@link WordDictionary}, on the bundled baking
+ * list and on a generated list of 100k words with English letter frequencies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WordDictionaryBenchmark {
+    private static final String FREQUENT_LETTERS = "eeeeeeeeeeeetttttttttaaaaaaaaoooooooiiiiiiinnnnnnnsssssshhhhhhrrrrrrdddllllcccuuummwwffggyyppbbvkjxqz";
+
+    @Param({"bundled", "100000"})
+    private String words;
+
+    private final Random random = new Random(3);
+    private WordDictionary dictionary;
+    private HangmanLevel halfwayLevel;
+
+    @Setup
+    public void setUp() throws IOException {
+        if (words.equals("bundled")) {
+            dictionary = WordDictionary.getInstance();
+        } else {
+            Random generator = new Random(11);
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < Integer.parseInt(words); i++) {
+                int length = 4 + generator.nextInt(8);
+                for (int c = 0; c < length; c++) {
+                    text.append(FREQUENT_LETTERS.charAt(generator.nextInt(FREQUENT_LETTERS.length())));
+                }
+                text.append('\n');
+            }
+            dictionary = WordDictionary.load(new ByteArrayInputStream(text.toString().getBytes(StandardCharsets.UTF_8)));
+        }
+        // An eight-letter word with two of the most common letters guessed and one miss.
+        halfwayLevel = new HangmanLevel("pancakes", new GameSession(), dictionary);
+        halfwayLevel.guess('e');
+        halfwayLevel.guess('a');
+        halfwayLevel.guess('t');
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int countCandidates() {
+        return dictionary.countCandidates(halfwayLevel);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public char suggestHint() {
+        return dictionary.suggestHint(halfwayLevel);
+    }
+
+    @Benchmark
+    public String nextWord() {
+        return dictionary.nextWord(WordDictionary.Difficulty.MEDIUM, random);
+    }
+}
@@ -0,0 +1,54 @@
+package com.pastrygame;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps track of the AnimationTimers started by the active screen, so they can all be stopped
+ * when the player leaves it. Countdowns and delays run on the {@link GameClock} instead. Used
+ * from the FX thread only, except {@link #getActiveCount()}, which can be read from any thread.
+ */
+public class AnimationRegistry {
+    private final List<AnimationTimer> timers = new ArrayList<>();
+    private volatile int active;
+
+    /**
+     * Starts {@code timer} and keeps it until it is passed to {@link #stop(AnimationTimer)} or
+     * the next {@link #stopAll()}.
+     */
+    public void start(AnimationTimer timer) {
+        if (!timers.contains(timer)) {
+            timers.add(timer);
+            active = timers.size();
+        }
+        timer.start();
+    }
+
+    public void stop(AnimationTimer timer) {
+        timer.stop();
+        timers.remove(timer);
+        active = timers.size();
+    }
+
+    /**
+     * Stops and forgets everything registered so far. Returns how many loops were still running.
+     */
+    public int stopAll() {
+        int stopped = getActiveCount();
+        for (AnimationTimer timer : timers) {
+            timer.stop();
+        }
+        timers.clear();
+        active = 0;
+        return stopped;
+    }
+
+    /**
+     * Returns the number of registered timers, all of which are running.
+     */
+    public int getActiveCount() {
+        return active;
+    }
+}
@@ -0,0 +1,138 @@
+package com.pastrygame;
+
+import com.pastrygame.engine.RecipeCatalog;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes the assets of the upcoming levels on a background thread, so the scene factories only
+ * have to pick up ready images on the FX thread: the ingredient and memory-card sprites go into
+ * one {@link TextureAtlas}, the puzzle pictures into {@link ImageAssetCache}.
+ */
+public class AssetPrefetcher {
+    // About one frame: waiting longer on the FX thread would cost more than the fallback decode saves.
+    private static final long AWAIT_TIMEOUT_MS = 16;
+    private static AssetPrefetcher instance;
+
+    private final ExecutorService executor;
+    private String prefetchedPastry;
+    private CompletableFuture<TextureAtlas> spriteAtlas;
+    private CompletableFuture<Void> puzzleAssets;
+
+    private AssetPrefetcher() {
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "asset-prefetch");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    public static synchronized AssetPrefetcher getInstance() {
+        if (instance == null) {
+            instance = new AssetPrefetcher();
+            GameLog.info("AssetPrefetcher.getInstance: Initialized AssetPrefetcher");
+        }
+        return instance;
+    }
+
+    /**
+     * Queues the sprite atlas for the ingredient grid and the memory-match cards, then the puzzle
+     * source image for {@code pastry}. Calling it again for the same pastry is a no-op.
+     */
+    public synchronized void prefetch(String pastry) {
+        if (pastry == null || pastry.equals(prefetchedPastry)) {
+            return;
+        }
+        prefetchedPastry = pastry;
+        GameLog.info("AssetPrefetcher.prefetch: Prefetching assets for {}", pastry);
+        if (spriteAtlas == null) {
+            spriteAtlas = CompletableFuture.supplyAsync(AssetPrefetcher::buildSpriteAtlas, executor);
+        }
+        puzzleAssets = submit("puzzle " + pastry,
+                () -> decode(PuzzleScene.imagePathFor(pastry), PuzzleScene.IMAGE_SIZE));
+    }
+
+    /**
+     * Returns the atlas with every ingredient at {@link IngredientScene#IMAGE_SIZE} and every card
+     * face at {@link MemoryMatchScene#IMAGE_SIZE}, queueing it if no prefetch did. If it is not
+     * ready in time or could not be built, returns an {@link TextureAtlas#unpacked() unpacked}
+     * atlas that decodes each sprite when the scene asks for it.
+     */
+    public TextureAtlas getSpriteAtlas() {
+        CompletableFuture<TextureAtlas> future;
+        synchronized (this) {
+            if (spriteAtlas == null) {
+                GameLog.info("AssetPrefetcher.getSpriteAtlas: No prefetch queued, queueing the atlas now");
+                spriteAtlas = CompletableFuture.supplyAsync(AssetPrefetcher::buildSpriteAtlas, executor);
+            }
+            future = spriteAtlas;
+        }
+        TextureAtlas atlas = await("sprite atlas", future);
+        if (atlas != null) {
+            return atlas;
+        }
+        if (future.isCompletedExceptionally()) {
+            synchronized (this) {
+                if (spriteAtlas == future) {
+                    spriteAtlas = null; // Built again the next time it is asked for.
+                }
+            }
+        }
+        return TextureAtlas.unpacked();
+    }
+
+    /**
+     * Gives the puzzle picture prefetch for {@code pastry} at most a frame to finish; if it is
+     * still running, the puzzle scene decodes the picture itself.
+     */
+    public void awaitPuzzleAssets(String pastry) {
+        CompletableFuture<Void> future;
+        synchronized (this) {
+            future = pastry != null && pastry.equals(prefetchedPastry) ? puzzleAssets : null;
+        }
+        await("puzzle " + pastry, future);
+    }
+
+    private CompletableFuture<Void> submit(String name, Runnable task) {
+        return CompletableFuture.runAsync(() -> {
+            long start = System.nanoTime();
+            task.run();
+            GameLog.infoNum("AssetPrefetcher.submit: Prefetched {} in {} ms", name,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }, executor);
+    }
+
+    private static TextureAtlas buildSpriteAtlas() {
+        TextureAtlas.Builder atlas = TextureAtlas.builder();
+        RecipeCatalog recipes = RecipeCatalog.getInstance();
+        for (int ingredient = 0; ingredient < recipes.getIngredientCount(); ingredient++) {
+            atlas.add(recipes.getIngredientImage(ingredient), IngredientScene.IMAGE_SIZE, IngredientScene.IMAGE_SIZE);
+        }
+        for (String path : MemoryMatchScene.CARD_IMAGES) {
+            atlas.add(path, MemoryMatchScene.IMAGE_SIZE, MemoryMatchScene.IMAGE_SIZE);
+        }
+        return atlas.build();
+    }
+
+    private static void decode(String path, int size) {
+        ImageAssetCache.getInstance().getImage(path, size, size, true);
+    }
+
+    // A missing or slow prefetch is not an error: the scene simply decodes whatever is still missing itself.
+    private static <T> T await(String name, CompletableFuture<T> future) {
+        if (future == null) {
+            GameLog.info("AssetPrefetcher.await: No prefetch queued for {}", name);
+            return null;
+        }
+        try {
+            return future.get(AWAIT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            GameLog.info("AssetPrefetcher.await: Prefetch of {} not ready, falling back: {}", name, e.toString());
+            return null;
+        }
+    }
+}
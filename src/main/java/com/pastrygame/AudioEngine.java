@@ -0,0 +1,461 @@
+package com.pastrygame;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.SourceDataLine;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Plays the game's music on a dedicated thread that mixes into a single {@link SourceDataLine}.
+ * Short tracks are decoded once and kept in memory within a byte budget; longer ones are
+ * streamed from the jar in small chunks. All public methods only queue a command and return
+ * immediately, so they are safe to call from the FX thread.
+ */
+public class AudioEngine {
+    static final AudioFormat FORMAT = new AudioFormat(44_100f, 16, 2, true, false);
+    private static final int CHANNELS = 2;
+    private static final int FRAME_BYTES = 4;
+    private static final int CHUNK_FRAMES = 1024;
+    private static final long DEFAULT_RESIDENT_BUDGET_BYTES = 8L * 1024 * 1024;
+    private static final long DEFAULT_RESIDENT_TRACK_MAX_BYTES = 2L * 1024 * 1024;
+    private static AudioEngine instance;
+
+    private final BlockingQueue<Runnable> commands = new LinkedBlockingQueue<>();
+    private final long residentBudgetBytes;
+    private final long residentTrackMaxBytes;
+    private final LatencyHistogram musicStartLatency;
+    private final Metrics.Counter musicFailures;
+
+    // Everything below is only touched by the audio thread.
+    private final Map<String, short[]> residentTracks = new LinkedHashMap<>(8, 0.75f, true);
+    private final Set<String> streamedTracks = new HashSet<>();
+    private final List<Voice> voices = new ArrayList<>();
+    private final int[] mix = new int[CHUNK_FRAMES * CHANNELS];
+    private final short[] samples = new short[CHUNK_FRAMES * CHANNELS];
+    private final byte[] output = new byte[CHUNK_FRAMES * FRAME_BYTES];
+    private SourceDataLine line;
+    private boolean paused;
+
+    private volatile long residentBytes;
+    private volatile int activeVoices;
+
+    private interface PcmSource {
+        /**
+         * Reads up to {@code frames} interleaved stereo frames into {@code dst} starting at frame
+         * {@code offsetFrames}; returns the number read, or 0 at the end of the track.
+         */
+        int read(short[] dst, int offsetFrames, int frames) throws IOException;
+
+        void rewind() throws IOException;
+
+        void close();
+    }
+
+    private static final class Voice {
+        final String track;
+        final boolean loop;
+        final PcmSource source;
+        float gain;
+        float targetGain;
+        float gainStep;
+        boolean stopWhenSilent;
+
+        Voice(String track, boolean loop, PcmSource source) {
+            this.track = track;
+            this.loop = loop;
+            this.source = source;
+        }
+
+        void fadeTo(float target, int fadeFrames) {
+            targetGain = target;
+            gainStep = fadeFrames <= 0 ? 1f : 1f / fadeFrames;
+            if (fadeFrames <= 0) {
+                gain = target;
+            }
+        }
+    }
+
+    private AudioEngine(long residentBudgetBytes, long residentTrackMaxBytes) {
+        this.residentBudgetBytes = residentBudgetBytes;
+        this.residentTrackMaxBytes = residentTrackMaxBytes;
+        Metrics metrics = Metrics.getInstance();
+        this.musicStartLatency = metrics.histogram("audio.music.start");
+        this.musicFailures = metrics.counter("audio.music.failures");
+        metrics.gauge("audio.music.residentBytes", () -> residentBytes);
+        metrics.gauge("audio.music.voices", () -> activeVoices);
+        Thread thread = new Thread(this::run, "audio-engine");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    public static synchronized AudioEngine getInstance() {
+        if (instance == null) {
+            instance = new AudioEngine(
+                    Long.getLong("pastry.audio.residentBudgetBytes", DEFAULT_RESIDENT_BUDGET_BYTES),
+                    Long.getLong("pastry.audio.residentTrackMaxBytes", DEFAULT_RESIDENT_TRACK_MAX_BYTES));
+            GameLog.infoNum("AudioEngine.getInstance: Initialized with resident budget {} bytes", instance.residentBudgetBytes);
+        }
+        return instance;
+    }
+
+    /**
+     * Crossfades from whatever music is playing to {@code track} over {@code fadeMillis}. If
+     * {@code track} is already the current music it just keeps playing (and is unpaused).
+     */
+    public void playMusic(String track, boolean loop, long fadeMillis) {
+        long requestedAt = System.nanoTime();
+        commands.offer(() -> doPlayMusic(track, loop, fadeMillis, requestedAt));
+    }
+
+    /**
+     * Fades the current music out over {@code fadeMillis} and releases it.
+     */
+    public void stopMusic(long fadeMillis) {
+        commands.offer(() -> fadeOutAll(fadeMillis));
+    }
+
+    /**
+     * Stops {@code track} if it is playing, leaving other music alone.
+     */
+    public void stopTrack(String track, long fadeMillis) {
+        commands.offer(() -> {
+            for (Voice voice : voices) {
+                if (voice.track.equals(track)) {
+                    fadeOut(voice, fadeMillis);
+                }
+            }
+        });
+    }
+
+    public void pauseMusic() {
+        commands.offer(() -> paused = true);
+    }
+
+    public void resumeMusic() {
+        commands.offer(() -> paused = false);
+    }
+
+    /**
+     * Decodes {@code track} into memory ahead of time if it is short enough to be kept resident.
+     */
+    public void preload(String track) {
+        commands.offer(() -> residentTrack(track));
+    }
+
+    public long getResidentBytes() {
+        return residentBytes;
+    }
+
+    public long getResidentBudgetBytes() {
+        return residentBudgetBytes;
+    }
+
+    public int getActiveVoiceCount() {
+        return activeVoices;
+    }
+
+    private void run() {
+        while (true) {
+            try {
+                if (paused || voices.isEmpty()) {
+                    if (line != null && line.isRunning()) {
+                        line.stop();
+                    }
+                    commands.take().run();
+                }
+                Runnable command;
+                while ((command = commands.poll()) != null) {
+                    command.run();
+                }
+                if (!paused && !voices.isEmpty()) {
+                    mixChunk();
+                }
+                activeVoices = voices.size();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                GameLog.error("AudioEngine.run: Audio thread error: {}", e.getMessage(), e);
+                releaseAllVoices();
+            }
+        }
+    }
+
+    // The start latency runs from the request to the new voice being mixed in, and leaves out tracks already playing.
+    private void doPlayMusic(String track, boolean loop, long fadeMillis, long requestedAt) {
+        paused = false;
+        for (Voice voice : voices) {
+            if (voice.track.equals(track) && !voice.stopWhenSilent) {
+                voice.fadeTo(1f, fadeFrames(fadeMillis));
+                return;
+            }
+        }
+        if (!openLine()) {
+            musicFailures.increment();
+            return;
+        }
+        PcmSource source = openSource(track);
+        if (source == null) {
+            musicFailures.increment();
+            return;
+        }
+        fadeOutAll(fadeMillis);
+        Voice voice = new Voice(track, loop, source);
+        voice.gain = voices.isEmpty() ? 1f : 0f;
+        voice.fadeTo(1f, voices.isEmpty() ? 0 : fadeFrames(fadeMillis));
+        voices.add(voice);
+        musicStartLatency.recordSince(requestedAt);
+        GameLog.info("AudioEngine.playMusic: Playing {}", track);
+    }
+
+    private void fadeOutAll(long fadeMillis) {
+        for (Voice voice : voices) {
+            fadeOut(voice, fadeMillis);
+        }
+    }
+
+    private void fadeOut(Voice voice, long fadeMillis) {
+        voice.stopWhenSilent = true;
+        voice.fadeTo(0f, fadeFrames(fadeMillis));
+    }
+
+    private static int fadeFrames(long fadeMillis) {
+        return (int) (FORMAT.getFrameRate() * fadeMillis / 1000);
+    }
+
+    private void mixChunk() throws IOException {
+        Arrays.fill(mix, 0);
+        Iterator<Voice> iterator = voices.iterator();
+        while (iterator.hasNext()) {
+            Voice voice = iterator.next();
+            if (!mixVoice(voice)) {
+                voice.source.close();
+                iterator.remove();
+            }
+        }
+        for (int i = 0; i < mix.length; i++) {
+            int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mix[i]));
+            output[2 * i] = (byte) sample;
+            output[2 * i + 1] = (byte) (sample >> 8);
+        }
+        if (!line.isRunning()) {
+            line.start();
+        }
+        line.write(output, 0, output.length);
+    }
+
+    // Adds one chunk of the voice to the mix buffer; returns false once the voice is finished.
+    private boolean mixVoice(Voice voice) throws IOException {
+        int frames = 0;
+        while (frames < CHUNK_FRAMES) {
+            int read = readFrames(voice, frames);
+            if (read == 0) {
+                if (!voice.loop) {
+                    break;
+                }
+                voice.source.rewind();
+                if (readFrames(voice, frames) == 0) {
+                    break;
+                }
+                continue;
+            }
+            frames += read;
+        }
+        for (int f = 0; f < frames; f++) {
+            if (voice.gain != voice.targetGain) {
+                voice.gain = voice.gain < voice.targetGain
+                        ? Math.min(voice.targetGain, voice.gain + voice.gainStep)
+                        : Math.max(voice.targetGain, voice.gain - voice.gainStep);
+            }
+            int i = f * CHANNELS;
+            mix[i] += (int) (samples[i] * voice.gain);
+            mix[i + 1] += (int) (samples[i + 1] * voice.gain);
+        }
+        boolean silent = voice.stopWhenSilent && voice.gain <= 0f;
+        return frames == CHUNK_FRAMES && !silent;
+    }
+
+    private int readFrames(Voice voice, int offsetFrames) throws IOException {
+        return voice.source.read(samples, offsetFrames, CHUNK_FRAMES - offsetFrames);
+    }
+
+    private boolean openLine() {
+        if (line != null) {
+            return true;
+        }
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, CHUNK_FRAMES * FRAME_BYTES * 4);
+            GameLog.infoNum("AudioEngine.openLine: Opened output line with {} byte buffer", line.getBufferSize());
+            return true;
+        } catch (Exception e) {
+            GameLog.error("AudioEngine.openLine: No audio output available: {}", e.getMessage());
+            line = null;
+            return false;
+        }
+    }
+
+    private PcmSource openSource(String track) {
+        short[] resident = residentTrack(track);
+        if (resident != null) {
+            return new ResidentSource(resident);
+        }
+        try {
+            return new StreamingSource(track);
+        } catch (Exception e) {
+            GameLog.error("AudioEngine.openSource: Error opening {}: {}", track, e.getMessage());
+            return null;
+        }
+    }
+
+    // Returns the decoded samples of a short track, decoding it on first use, or null if it should be streamed.
+    private short[] residentTrack(String track) {
+        short[] cached = residentTracks.get(track);
+        if (cached != null || streamedTracks.contains(track)) {
+            return cached;
+        }
+        try (AudioInputStream stream = openPcm(track)) {
+            long bytes = stream.getFrameLength() * FRAME_BYTES;
+            if (stream.getFrameLength() == AudioSystem.NOT_SPECIFIED || bytes > residentTrackMaxBytes) {
+                streamedTracks.add(track);
+                return null;
+            }
+            long start = System.nanoTime();
+            byte[] data = stream.readAllBytes();
+            short[] decoded = new short[data.length / 2];
+            for (int i = 0; i < decoded.length; i++) {
+                decoded[i] = (short) ((data[2 * i] & 0xFF) | (data[2 * i + 1] << 8));
+            }
+            residentTracks.put(track, decoded);
+            residentBytes += decoded.length * 2L;
+            evictResidentTracks(track);
+            GameLog.infoNum("AudioEngine.residentTrack: Decoded {} in {} us", track, (System.nanoTime() - start) / 1_000);
+            return decoded;
+        } catch (Exception e) {
+            GameLog.error("AudioEngine.residentTrack: Error decoding {}: {}", track, e.getMessage());
+            return null;
+        }
+    }
+
+    private void evictResidentTracks(String keep) {
+        Iterator<Map.Entry<String, short[]>> eldest = residentTracks.entrySet().iterator();
+        while (residentBytes > residentBudgetBytes && eldest.hasNext()) {
+            Map.Entry<String, short[]> entry = eldest.next();
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            residentBytes -= entry.getValue().length * 2L;
+            eldest.remove();
+        }
+    }
+
+    private void releaseAllVoices() {
+        for (Voice voice : voices) {
+            voice.source.close();
+        }
+        voices.clear();
+        activeVoices = 0;
+    }
+
+    // Opens a bundled track converted to the engine's output format; works from the jar as well as from a directory.
+    private static AudioInputStream openPcm(String track) throws Exception {
+        InputStream resource = AudioEngine.class.getResourceAsStream(track);
+        if (resource == null) {
+            throw new IOException("Track not found: " + track);
+        }
+        AudioInputStream stream = AudioSystem.getAudioInputStream(new BufferedInputStream(resource));
+        if (stream.getFormat().matches(FORMAT)) {
+            return stream;
+        }
+        return AudioSystem.getAudioInputStream(FORMAT, stream);
+    }
+
+    private static final class ResidentSource implements PcmSource {
+        private final short[] data;
+        private int position;
+
+        ResidentSource(short[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public int read(short[] dst, int offsetFrames, int frames) {
+            int count = Math.min(frames * CHANNELS, data.length - position);
+            System.arraycopy(data, position, dst, offsetFrames * CHANNELS, count);
+            position += count;
+            return count / CHANNELS;
+        }
+
+        @Override
+        public void rewind() {
+            position = 0;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class StreamingSource implements PcmSource {
+        private final String track;
+        private final byte[] buffer = new byte[CHUNK_FRAMES * FRAME_BYTES];
+        private AudioInputStream stream;
+
+        StreamingSource(String track) throws Exception {
+            this.track = track;
+            this.stream = openPcm(track);
+        }
+
+        @Override
+        public int read(short[] dst, int offsetFrames, int frames) throws IOException {
+            int wanted = frames * FRAME_BYTES;
+            int filled = 0;
+            while (filled < wanted) {
+                int read = stream.read(buffer, filled, wanted - filled);
+                if (read < 0) {
+                    break;
+                }
+                filled += read;
+            }
+            int count = filled / FRAME_BYTES;
+            int base = offsetFrames * CHANNELS;
+            for (int i = 0; i < count * CHANNELS; i++) {
+                dst[base + i] = (short) ((buffer[2 * i] & 0xFF) | (buffer[2 * i + 1] << 8));
+            }
+            return count;
+        }
+
+        @Override
+        public void rewind() throws IOException {
+            close();
+            try {
+                stream = openPcm(track);
+            } catch (Exception e) {
+                throw new IOException("Cannot reopen " + track, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                GameLog.warn("AudioEngine.close: Error closing {}: {}", track, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.pastrygame;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Appends every game event to a text file, one per line, so a play session can be looked at
+ * afterwards. Enabled with {@code -Dpastry.eventJournal=<file>}; the file is written on a thread
+ * of its own and flushed after every batch.
+ */
+public final class EventJournal {
+    private final Path file;
+    private final BufferedWriter writer;
+
+    private EventJournal(Path file) throws IOException {
+        this.file = file;
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Subscribes a journal to {@code bus} if one was asked for on the command line.
+     */
+    public static void subscribeIfRequested(GameEventBus bus) {
+        String path = System.getProperty("pastry.eventJournal");
+        if (path == null || path.isBlank()) {
+            return;
+        }
+        try {
+            EventJournal journal = new EventJournal(Path.of(path));
+            bus.subscribe("journal", GameEvent.class, GameEventBus.newSubscriberThread("journal"), journal::write);
+            GameLog.info("EventJournal.subscribeIfRequested: Writing game events to {}", journal.file);
+        } catch (IOException e) {
+            GameLog.error("EventJournal.subscribeIfRequested: Could not open {}: {}", path, e.toString());
+        }
+    }
+
+    private void write(List<GameEvent> events) {
+        try {
+            String now = Instant.now().toString();
+            for (GameEvent event : events) {
+                writer.write(now);
+                writer.write(' ');
+                writer.write(event.toString());
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            GameLog.error("EventJournal.write: Could not write to {}: {}", file, e.toString());
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.pastrygame;
+
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Firework particle system for the win screen. Particles live in preallocated primitive
+ * arrays (one array per attribute) and are rendered straight into an ARGB pixel buffer,
+ * so a frame allocates nothing no matter how many particles are alive.
+ */
+public class FireworksEngine {
+    // Same colors the fireworks always used: RED, YELLOW, BLUE, GREEN and MAGENTA.
+    private static final int[] BASE_COLORS = {0xFF0000, 0xFFFF00, 0x0000FF, 0x008000, 0xFF00FF};
+    private static final int ALPHA_LEVELS = 256;
+    private static final int BACKGROUND = 0xFF000000;
+    private static final int PARTICLE_SIZE = 6;
+    private static final float GRAVITY = 0.03f;
+    private static final float FADE = 0.015f;
+    // Offsets of the pixels covered by a 6x6 oval, matching the old fillOval(x, y, 6, 6).
+    private static final int[] STAMP_X;
+    private static final int[] STAMP_Y;
+
+    static {
+        int[] xs = new int[PARTICLE_SIZE * PARTICLE_SIZE];
+        int[] ys = new int[PARTICLE_SIZE * PARTICLE_SIZE];
+        int n = 0;
+        double r = PARTICLE_SIZE / 2.0;
+        for (int dy = 0; dy < PARTICLE_SIZE; dy++) {
+            for (int dx = 0; dx < PARTICLE_SIZE; dx++) {
+                double cx = dx + 0.5 - r;
+                double cy = dy + 0.5 - r;
+                if (cx * cx + cy * cy <= r * r) {
+                    xs[n] = dx;
+                    ys[n] = dy;
+                    n++;
+                }
+            }
+        }
+        STAMP_X = Arrays.copyOf(xs, n);
+        STAMP_Y = Arrays.copyOf(ys, n);
+    }
+
+    private final int width;
+    private final int height;
+    private final int capacity;
+    private final float[] x;
+    private final float[] y;
+    private final float[] vx;
+    private final float[] vy;
+    private final float[] life;
+    private final byte[] color;
+    private final int[] palette;
+    private final int[] pixels;
+    private final int[] stampOffsets;
+    private final SplittableRandom random = new SplittableRandom();
+    private int count;
+    private long spawned;
+    private long dropped;
+    private PixelBuffer<IntBuffer> pixelBuffer;
+    private WritableImage image;
+
+    public FireworksEngine(int width, int height, int capacity) {
+        this.width = width;
+        this.height = height;
+        this.capacity = capacity;
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.vx = new float[capacity];
+        this.vy = new float[capacity];
+        this.life = new float[capacity];
+        this.color = new byte[capacity];
+        this.palette = buildPalette();
+        this.pixels = new int[width * height];
+        this.stampOffsets = new int[STAMP_X.length];
+        for (int s = 0; s < stampOffsets.length; s++) {
+            stampOffsets[s] = STAMP_Y[s] * width + STAMP_X[s];
+        }
+        Arrays.fill(pixels, BACKGROUND);
+    }
+
+    // Premultiplied ARGB for every base color at every alpha level, indexed color * ALPHA_LEVELS + alpha.
+    private static int[] buildPalette() {
+        int[] palette = new int[BASE_COLORS.length * ALPHA_LEVELS];
+        for (int c = 0; c < BASE_COLORS.length; c++) {
+            int rgb = BASE_COLORS[c];
+            for (int a = 0; a < ALPHA_LEVELS; a++) {
+                int r = ((rgb >> 16) & 0xFF) * a / 255;
+                int g = ((rgb >> 8) & 0xFF) * a / 255;
+                int b = (rgb & 0xFF) * a / 255;
+                palette[c * ALPHA_LEVELS + a] = (a << 24) | (r << 16) | (g << 8) | b;
+            }
+        }
+        return palette;
+    }
+
+    /**
+     * Spawns {@code particles} particles at ({@code originX}, {@code originY}). Particles that do
+     * not fit in the remaining capacity are dropped.
+     */
+    public void spawnBurst(double originX, double originY, int particles) {
+        int n = Math.min(particles, capacity - count);
+        for (int i = 0; i < n; i++) {
+            int p = count++;
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double speed = random.nextDouble() * 5 + 3;
+            x[p] = (float) originX;
+            y[p] = (float) originY;
+            vx[p] = (float) (speed * Math.cos(angle));
+            vy[p] = (float) (speed * Math.sin(angle));
+            life[p] = 1.0f;
+            color[p] = (byte) random.nextInt(BASE_COLORS.length);
+        }
+        spawned += n;
+        dropped += particles - n;
+    }
+
+    /**
+     * Advances every particle by one frame and swap-removes the ones that faded out or left the canvas.
+     */
+    public void update() {
+        int i = 0;
+        while (i < count) {
+            float px = x[i] + vx[i];
+            float py = y[i] + vy[i];
+            float pl = life[i] - FADE;
+            if (pl > 0 && px >= 0 && px <= width && py >= 0 && py <= height) {
+                x[i] = px;
+                y[i] = py;
+                vy[i] += GRAVITY;
+                life[i] = pl;
+                i++;
+            } else {
+                int last = --count;
+                x[i] = x[last];
+                y[i] = y[last];
+                vx[i] = vx[last];
+                vy[i] = vy[last];
+                life[i] = life[last];
+                color[i] = color[last];
+            }
+        }
+    }
+
+    /**
+     * Redraws all live particles over a black background into the pixel array.
+     */
+    public void render() {
+        Arrays.fill(pixels, BACKGROUND);
+        int[] stampX = STAMP_X;
+        int[] stampY = STAMP_Y;
+        int[] offsets = stampOffsets;
+        for (int p = 0; p < count; p++) {
+            int src = palette[color[p] * ALPHA_LEVELS + (int) (life[p] * 255)];
+            int inv = 255 - (src >>> 24);
+            int sr = (src >> 16) & 0xFF;
+            int sg = (src >> 8) & 0xFF;
+            int sb = src & 0xFF;
+            int left = (int) x[p];
+            int top = (int) y[p];
+            if (left + PARTICLE_SIZE <= width && top + PARTICLE_SIZE <= height) {
+                int base = top * width + left;
+                for (int offset : offsets) {
+                    int index = base + offset;
+                    pixels[index] = blend(pixels[index], sr, sg, sb, inv);
+                }
+            } else {
+                for (int s = 0; s < stampX.length; s++) {
+                    int px = left + stampX[s];
+                    int py = top + stampY[s];
+                    if (px < width && py < height) {
+                        int index = py * width + px;
+                        pixels[index] = blend(pixels[index], sr, sg, sb, inv);
+                    }
+                }
+            }
+        }
+    }
+
+    // Source-over of a premultiplied source onto an opaque destination.
+    private static int blend(int dst, int sr, int sg, int sb, int inv) {
+        int r = sr + ((((dst >> 16) & 0xFF) * inv) >> 8);
+        int g = sg + ((((dst >> 8) & 0xFF) * inv) >> 8);
+        int b = sb + (((dst & 0xFF) * inv) >> 8);
+        return 0xFF000000 | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * Returns the image the particles are rendered into. It shares the engine's pixel array,
+     * so it only has to be created once. Must be called on the FX thread.
+     */
+    public WritableImage getImage() {
+        if (image == null) {
+            pixelBuffer = new PixelBuffer<>(width, height, IntBuffer.wrap(pixels), PixelFormat.getIntArgbPreInstance());
+            image = new WritableImage(pixelBuffer);
+        }
+        return image;
+    }
+
+    /**
+     * Tells JavaFX the pixels changed since the last frame. Must be called on the FX thread.
+     */
+    public void present() {
+        if (pixelBuffer != null) {
+            pixelBuffer.updateBuffer(buffer -> null);
+        }
+    }
+
+    public void clear() {
+        count = 0;
+        Arrays.fill(pixels, BACKGROUND);
+    }
+
+    public int getParticleCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getSpawnedCount() {
+        return spawned;
+    }
+
+    public long getDroppedCount() {
+        return dropped;
+    }
+}
@@ -0,0 +1,202 @@
+package com.pastrygame;
+
+import javafx.animation.AnimationTimer;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * The game's own time, which every countdown and delay of a screen runs on. Game time follows
+ * {@link System#nanoTime()}, multiplied by the time scale and standing still while the clock is
+ * paused. A single AnimationTimer checks everything registered with the clock once per pulse, and
+ * only runs while something is waiting. Used from the FX thread only.
+ */
+public class GameClock {
+    private final List<Countdown> countdowns = new ArrayList<>();
+    private final AnimationTimer pulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            fireDue();
+        }
+    };
+    private long gameNanos;
+    private long lastSync = System.nanoTime();
+    private double timeScale = 1;
+    private boolean paused;
+    private volatile boolean pulsing;
+
+    /**
+     * Something waiting on the clock: a countdown of whole seconds or a single delayed callback.
+     */
+    public final class Countdown {
+        private final long deadline;
+        private final IntConsumer onSecond;
+        private final Runnable onDone;
+        private int secondsLeft;
+        private boolean active = true;
+
+        private Countdown(long deadline, int seconds, IntConsumer onSecond, Runnable onDone) {
+            this.deadline = deadline;
+            this.secondsLeft = seconds;
+            this.onSecond = onSecond;
+            this.onDone = onDone;
+        }
+
+        /**
+         * Returns the game time left in nanoseconds, or 0 once it has run out or was cancelled.
+         */
+        public long getRemainingNanos() {
+            return active ? Math.max(0, deadline - now()) : 0;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void cancel() {
+            active = false;
+        }
+
+        // Reports every whole second that passed since the last pulse, so none is skipped on a slow frame.
+        private void fire(long now) {
+            if (onSecond != null) {
+                int left = (int) Math.min(secondsLeft, (Math.max(0, deadline - now) + 999_999_999) / 1_000_000_000);
+                while (active && secondsLeft > left) {
+                    secondsLeft--;
+                    onSecond.accept(secondsLeft);
+                }
+            }
+            if (active && now >= deadline) {
+                active = false;
+                if (onDone != null) {
+                    onDone.run();
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts {@code seconds} of game time down, calling {@code onSecond} with the seconds left
+     * each time one has passed, the last time with 0.
+     */
+    public Countdown countdown(int seconds, IntConsumer onSecond) {
+        return register(new Countdown(now() + seconds * 1_000_000_000L, seconds, onSecond, null));
+    }
+
+    /**
+     * Runs {@code action} once {@code delay} of game time has passed.
+     */
+    public Countdown schedule(Duration delay, Runnable action) {
+        return register(new Countdown(now() + (long) (delay.toMillis() * 1_000_000), 0, null, action));
+    }
+
+    /**
+     * Returns the game time in nanoseconds. Only differences between two readings mean anything.
+     */
+    public long now() {
+        long system = System.nanoTime();
+        if (!paused) {
+            gameNanos += (long) ((system - lastSync) * timeScale);
+        }
+        lastSync = system;
+        return gameNanos;
+    }
+
+    /**
+     * Stops game time, and with it every countdown and delay, until {@link #resume()}.
+     */
+    public void pause() {
+        if (!paused) {
+            now();
+            paused = true;
+            updatePulse();
+            GameLog.infoNum("GameClock.pause: Paused with {} countdowns waiting", countdowns.size());
+        }
+    }
+
+    public void resume() {
+        if (paused) {
+            now();
+            paused = false;
+            updatePulse();
+            GameLog.infoNum("GameClock.resume: Resumed with {} countdowns waiting", countdowns.size());
+        }
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Returns whether the clock's AnimationTimer is running, which it does while something is
+     * waiting and the clock is not paused.
+     */
+    public boolean isRunning() {
+        return pulsing;
+    }
+
+    /**
+     * Makes game time pass {@code timeScale} times as fast as real time, e.g. to skip through the
+     * countdowns of an automated playthrough.
+     */
+    public void setTimeScale(double timeScale) {
+        if (timeScale <= 0) {
+            throw new IllegalArgumentException("Time scale must be positive: " + timeScale);
+        }
+        now();
+        this.timeScale = timeScale;
+    }
+
+    public double getTimeScale() {
+        return timeScale;
+    }
+
+    /**
+     * Cancels everything registered so far. Returns how many countdowns were still waiting.
+     */
+    public int cancelAll() {
+        int cancelled = 0;
+        for (Countdown countdown : countdowns) {
+            if (countdown.active) {
+                cancelled++;
+                countdown.cancel();
+            }
+        }
+        countdowns.clear();
+        updatePulse();
+        return cancelled;
+    }
+
+    private Countdown register(Countdown countdown) {
+        countdowns.add(countdown);
+        updatePulse();
+        return countdown;
+    }
+
+    private void fireDue() {
+        long now = now();
+        // A callback may register or cancel countdowns, or cancel them all by leaving the screen.
+        for (int i = 0; i < countdowns.size(); i++) {
+            Countdown countdown = countdowns.get(i);
+            if (countdown.active) {
+                countdown.fire(now);
+            }
+        }
+        countdowns.removeIf(countdown -> !countdown.active);
+        updatePulse();
+    }
+
+    private void updatePulse() {
+        boolean needed = !paused && !countdowns.isEmpty();
+        if (needed != pulsing) {
+            pulsing = needed;
+            if (needed) {
+                pulse.start();
+            } else {
+                pulse.stop();
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.pastrygame;
+
+import com.pastrygame.engine.GameSession;
+import com.pastrygame.engine.IngredientLevel;
+
+/**
+ * Something the player did or achieved, published on the {@link GameEventBus}. Every event
+ * carries the {@link System#nanoTime()} it happened at; the constructors without a timestamp
+ * take the current time.
+ */
+public sealed interface GameEvent {
+    enum Level { INGREDIENTS, PUZZLE, SLIDING_PUZZLE, MEMORY, HANGMAN }
+
+    long timestamp();
+
+    record IngredientChecked(long timestamp, String pastry, IngredientLevel.Outcome outcome, int grade) implements GameEvent {
+        public IngredientChecked(String pastry, IngredientLevel.Outcome outcome, int grade) {
+            this(System.nanoTime(), pastry, outcome, grade);
+        }
+    }
+
+    /**
+     * A jigsaw piece dropped onto a slot, or a sliding tile moved into a cell.
+     */
+    record PiecePlaced(long timestamp, GameSession.PuzzleMode mode, int piece, int cell) implements GameEvent {
+        public PiecePlaced(GameSession.PuzzleMode mode, int piece, int cell) {
+            this(System.nanoTime(), mode, piece, cell);
+        }
+    }
+
+    record PairMatched(long timestamp, int pairsFound, int pairCount) implements GameEvent {
+        public PairMatched(int pairsFound, int pairCount) {
+            this(System.nanoTime(), pairsFound, pairCount);
+        }
+    }
+
+    record LetterGuessed(long timestamp, char letter, boolean hit, int triesLeft) implements GameEvent {
+        public LetterGuessed(char letter, boolean hit, int triesLeft) {
+            this(System.nanoTime(), letter, hit, triesLeft);
+        }
+    }
+
+    /**
+     * A mistake counted against the session, which has made {@code mistakes} so far.
+     */
+    record Mistake(long timestamp, Level level, int mistakes) implements GameEvent {
+        public Mistake(Level level, int mistakes) {
+            this(System.nanoTime(), level, mistakes);
+        }
+    }
+
+    /**
+     * A level won or lost. {@code tally} is what the level counts: mistakes for the ingredients,
+     * moves for the sliding puzzle, misses for hangman, and 0 otherwise.
+     */
+    record LevelComplete(long timestamp, Level level, boolean won, int tally) implements GameEvent {
+        public LevelComplete(Level level, boolean won, int tally) {
+            this(System.nanoTime(), level, won, tally);
+        }
+    }
+}
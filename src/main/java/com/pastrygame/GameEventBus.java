@@ -0,0 +1,198 @@
+package com.pastrygame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Delivers {@link GameEvent}s from the screens to the parts of the game that react to them, such
+ * as metrics and the event journal, without the screens knowing about them.
+ * <p>
+ * Every subscriber has its own bounded queue and executor. Publishing only appends to the queues
+ * of the interested subscribers, without locks, and never blocks: an event that finds a queue
+ * full is dropped for that subscriber and counted. A subscriber is handed whatever has queued up
+ * since its last delivery, in publishing order, up to {@link #MAX_BATCH} events at a time. Queue
+ * depth, drops, batches and delivery lag of every subscriber are published as metrics under
+ * {@code events.<subscriber>}.
+ */
+public final class GameEventBus {
+    static final int DEFAULT_CAPACITY = 1024;
+    static final int MAX_BATCH = 64;
+    private static GameEventBus instance;
+
+    private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+    private final Metrics.Counter published = Metrics.getInstance().counter("events.published");
+
+    /**
+     * One subscriber's queue. Events are counted into {@code queued} before they are added to the
+     * queue and counted out after they are taken, so the count never falls below the queue's size.
+     */
+    public static final class Subscription<E extends GameEvent> {
+        private final String name;
+        private final Class<E> type;
+        private final Executor executor;
+        private final Consumer<List<E>> listener;
+        private final int capacity;
+        private final ConcurrentLinkedQueue<E> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+        private final LatencyHistogram lag;
+        private volatile int maxQueued;
+
+        private Subscription(String name, Class<E> type, Executor executor, Consumer<List<E>> listener, int capacity) {
+            this.name = name;
+            this.type = type;
+            this.executor = executor;
+            this.listener = listener;
+            this.capacity = capacity;
+            Metrics metrics = Metrics.getInstance();
+            String prefix = "events." + name;
+            this.lag = metrics.histogram(prefix + ".lag");
+            metrics.gauge(prefix + ".queued", queued::get);
+            metrics.gauge(prefix + ".maxQueued", () -> maxQueued);
+            metrics.gauge(prefix + ".delivered", delivered::sum);
+            metrics.gauge(prefix + ".dropped", dropped::sum);
+            metrics.gauge(prefix + ".batches", batches::sum);
+        }
+
+        private void offer(GameEvent event) {
+            if (!type.isInstance(event)) {
+                return;
+            }
+            int depth = queued.incrementAndGet();
+            if (depth > capacity) {
+                queued.decrementAndGet();
+                dropped.increment();
+                return;
+            }
+            if (depth > maxQueued) {
+                maxQueued = depth; // Racy, but only the publishing thread raises it in practice.
+            }
+            queue.offer(type.cast(event));
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                    GameLog.warn("GameEventBus.scheduleDrain: {} no longer takes events: {}", name, e.toString());
+                }
+            }
+        }
+
+        private void drain() {
+            List<E> batch = new ArrayList<>(Math.min(queued.get(), MAX_BATCH));
+            E event;
+            while (batch.size() < MAX_BATCH && (event = queue.poll()) != null) {
+                batch.add(event);
+            }
+            queued.addAndGet(-batch.size());
+            if (!batch.isEmpty()) {
+                lag.recordSince(batch.get(0).timestamp());
+                try {
+                    listener.accept(Collections.unmodifiableList(batch));
+                } catch (RuntimeException e) {
+                    GameLog.error("GameEventBus.drain: {} failed on a batch: {}", name, e.toString());
+                }
+                delivered.add(batch.size());
+                batches.increment();
+            }
+            draining.set(false);
+            // Events published after the last poll would otherwise wait for the next publish.
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getQueued() {
+            return queued.get();
+        }
+
+        public long getDropped() {
+            return dropped.sum();
+        }
+
+        /**
+         * Stops delivering events to this subscriber. Events already queued are still delivered.
+         */
+        public void cancel() {
+            GameEventBus.getInstance().subscriptions.remove(this);
+        }
+    }
+
+    private GameEventBus() {
+    }
+
+    public static synchronized GameEventBus getInstance() {
+        if (instance == null) {
+            instance = new GameEventBus();
+        }
+        return instance;
+    }
+
+    /**
+     * Delivers every published event of {@code type} to {@code listener} on {@code executor}, in
+     * batches. Events published while {@link #DEFAULT_CAPACITY} are waiting are dropped.
+     */
+    public <E extends GameEvent> Subscription<E> subscribe(String name, Class<E> type, Executor executor,
+                                                           Consumer<List<E>> listener) {
+        Subscription<E> subscription = new Subscription<>(name, type, executor, listener, DEFAULT_CAPACITY);
+        subscriptions.add(subscription);
+        GameLog.info("GameEventBus.subscribe: {} receives {} events", name, type.getSimpleName());
+        return subscription;
+    }
+
+    /**
+     * Queues {@code event} for every interested subscriber. Never blocks; meant to be called
+     * from the FX thread, but safe from any.
+     */
+    public void publish(GameEvent event) {
+        published.increment();
+        for (Subscription<?> subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Returns a daemon thread for one subscriber, named {@code events-<name>}.
+     */
+    public static ExecutorService newSubscriberThread(String name) {
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "events-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the queue depth and drops of every subscriber, for logging.
+     */
+    public String getStats() {
+        StringBuilder stats = new StringBuilder().append(published.getCount()).append(" published");
+        for (Subscription<?> subscription : subscriptions) {
+            stats.append(", ").append(subscription.getName()).append(' ').append(subscription.getQueued())
+                    .append(" queued ").append(subscription.getDropped()).append(" dropped");
+        }
+        return stats.toString();
+    }
+}
@@ -0,0 +1,331 @@
+package com.pastrygame;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous logger for the game. Callers only copy their arguments into a preallocated
+ * slot of a lock-free ring buffer; a background thread formats and prints the messages.
+ * Messages use {@code {}} placeholders, and {@code debugNum}/{@code infoNum} take {@code long}
+ * arguments without boxing, so a log call on the FX thread neither blocks on the console nor
+ * allocates. They have their own names so that a {@code char} can never be picked up by them
+ * through widening and logged as its character code; the plain overloads log it as a letter.
+ * If the buffer is full the message is dropped and counted instead of blocking the caller.
+ */
+public final class GameLog {
+    public enum Level { DEBUG, INFO, WARN, ERROR }
+
+    private static final int CAPACITY = 8192;
+    private static final int MASK = CAPACITY - 1;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final Entry[] RING = new Entry[CAPACITY];
+    private static final AtomicLong TAIL = new AtomicLong();
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static final Level THRESHOLD = parseLevel(System.getProperty("pastry.log.level", "INFO"));
+    private static final PrintStream OUT = System.out;
+    private static final PrintStream ERR = System.err;
+    private static final Object DRAIN_LOCK = new Object();
+    private static long head;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            RING[i] = new Entry(i);
+        }
+        Thread writer = new Thread(GameLog::writerLoop, "game-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(GameLog::flush, "game-log-flush"));
+    }
+
+    private static final class Entry {
+        volatile long sequence;
+        Level level;
+        String threadName;
+        String template;
+        int argCount;
+        // Bit i set means argument i is the primitive in longs[i] rather than the object in objects[i].
+        int primitiveMask;
+        final Object[] objects = new Object[3];
+        final long[] longs = new long[3];
+
+        Entry(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Lets at most {@code permits} messages through per {@code periodMillis}. Keep one instance per
+     * call site, e.g. in a static field, and guard frame-callback logging with {@link #allow()}.
+     * Not thread-safe; meant for call sites that always run on the same thread.
+     */
+    public static final class RateLimiter {
+        private final int permits;
+        private final long periodNanos;
+        private long windowStart = Long.MIN_VALUE;
+        private int used;
+        private long suppressed;
+
+        private RateLimiter(int permits, long periodNanos) {
+            this.permits = permits;
+            this.periodNanos = periodNanos;
+        }
+
+        public boolean allow() {
+            long now = System.nanoTime();
+            if (windowStart == Long.MIN_VALUE || now - windowStart >= periodNanos) {
+                windowStart = now;
+                used = 0;
+            }
+            if (used < permits) {
+                used++;
+                return true;
+            }
+            suppressed++;
+            return false;
+        }
+
+        public long getSuppressedCount() {
+            return suppressed;
+        }
+    }
+
+    private GameLog() {
+    }
+
+    public static RateLimiter rateLimit(int permits, long periodMillis) {
+        return new RateLimiter(permits, TimeUnit.MILLISECONDS.toNanos(periodMillis));
+    }
+
+    public static boolean isEnabled(Level level) {
+        return level.ordinal() >= THRESHOLD.ordinal();
+    }
+
+    public static long getDroppedCount() {
+        return DROPPED.get();
+    }
+
+    public static void debug(String message) {
+        log(Level.DEBUG, message, 0, 0, null, 0, null, 0, null, 0);
+    }
+
+    public static void debug(String message, Object a) {
+        log(Level.DEBUG, message, 1, 0, a, 0, null, 0, null, 0);
+    }
+
+    public static void debug(String message, Object a, Object b) {
+        log(Level.DEBUG, message, 2, 0, a, 0, b, 0, null, 0);
+    }
+
+    public static void debug(String message, Object a, Object b, Object c) {
+        log(Level.DEBUG, message, 3, 0, a, 0, b, 0, c, 0);
+    }
+
+    public static void debugNum(String message, long a) {
+        log(Level.DEBUG, message, 1, 0b001, null, a, null, 0, null, 0);
+    }
+
+    public static void debugNum(String message, long a, long b) {
+        log(Level.DEBUG, message, 2, 0b011, null, a, null, b, null, 0);
+    }
+
+    public static void debugNum(String message, Object a, long b) {
+        log(Level.DEBUG, message, 2, 0b010, a, 0, null, b, null, 0);
+    }
+
+    public static void debugNum(String message, long a, long b, long c) {
+        log(Level.DEBUG, message, 3, 0b111, null, a, null, b, null, c);
+    }
+
+    public static void info(String message) {
+        log(Level.INFO, message, 0, 0, null, 0, null, 0, null, 0);
+    }
+
+    public static void info(String message, Object a) {
+        log(Level.INFO, message, 1, 0, a, 0, null, 0, null, 0);
+    }
+
+    public static void info(String message, Object a, Object b) {
+        log(Level.INFO, message, 2, 0, a, 0, b, 0, null, 0);
+    }
+
+    public static void info(String message, Object a, Object b, Object c) {
+        log(Level.INFO, message, 3, 0, a, 0, b, 0, c, 0);
+    }
+
+    public static void infoNum(String message, long a) {
+        log(Level.INFO, message, 1, 0b001, null, a, null, 0, null, 0);
+    }
+
+    public static void infoNum(String message, long a, long b) {
+        log(Level.INFO, message, 2, 0b011, null, a, null, b, null, 0);
+    }
+
+    public static void infoNum(String message, Object a, long b) {
+        log(Level.INFO, message, 2, 0b010, a, 0, null, b, null, 0);
+    }
+
+    public static void infoNum(String message, long a, long b, long c) {
+        log(Level.INFO, message, 3, 0b111, null, a, null, b, null, c);
+    }
+
+    public static void warn(String message) {
+        log(Level.WARN, message, 0, 0, null, 0, null, 0, null, 0);
+    }
+
+    public static void warn(String message, Object a) {
+        log(Level.WARN, message, 1, 0, a, 0, null, 0, null, 0);
+    }
+
+    public static void warn(String message, Object a, Object b) {
+        log(Level.WARN, message, 2, 0, a, 0, b, 0, null, 0);
+    }
+
+    public static void error(String message) {
+        log(Level.ERROR, message, 0, 0, null, 0, null, 0, null, 0);
+    }
+
+    public static void error(String message, Object a) {
+        log(Level.ERROR, message, 1, 0, a, 0, null, 0, null, 0);
+    }
+
+    public static void error(String message, Object a, Object b) {
+        log(Level.ERROR, message, 2, 0, a, 0, b, 0, null, 0);
+    }
+
+    private static void log(Level level, String template, int argCount, int primitiveMask,
+                            Object o0, long l0, Object o1, long l1, Object o2, long l2) {
+        if (level.ordinal() < THRESHOLD.ordinal()) {
+            return;
+        }
+        Entry entry;
+        long position;
+        while (true) {
+            position = TAIL.get();
+            entry = RING[(int) (position & MASK)];
+            long difference = entry.sequence - position;
+            if (difference == 0) {
+                if (TAIL.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (difference < 0) {
+                DROPPED.incrementAndGet();
+                return;
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+        entry.level = level;
+        entry.threadName = Thread.currentThread().getName();
+        entry.template = template;
+        entry.argCount = argCount;
+        entry.primitiveMask = primitiveMask;
+        entry.objects[0] = o0;
+        entry.objects[1] = o1;
+        entry.objects[2] = o2;
+        entry.longs[0] = l0;
+        entry.longs[1] = l1;
+        entry.longs[2] = l2;
+        entry.sequence = position + 1;
+    }
+
+    private static void writerLoop() {
+        StringBuilder line = new StringBuilder(256);
+        while (true) {
+            if (drain(line) == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Writes out everything logged so far. Safe to call from any thread, e.g. before exiting.
+     */
+    public static void flush() {
+        drain(new StringBuilder(256));
+    }
+
+    private static int drain(StringBuilder line) {
+        synchronized (DRAIN_LOCK) {
+            int written = 0;
+            boolean wroteErr = false;
+            while (true) {
+                Entry entry = RING[(int) (head & MASK)];
+                if (entry.sequence != head + 1) {
+                    break;
+                }
+                line.setLength(0);
+                Throwable throwable = format(entry, line);
+                PrintStream stream = entry.level.ordinal() >= Level.WARN.ordinal() ? ERR : OUT;
+                wroteErr |= stream == ERR;
+                stream.println(line);
+                if (throwable != null) {
+                    throwable.printStackTrace(stream);
+                }
+                entry.objects[0] = null;
+                entry.objects[1] = null;
+                entry.objects[2] = null;
+                entry.template = null;
+                entry.sequence = head + CAPACITY;
+                head++;
+                written++;
+            }
+            long dropped = DROPPED.getAndSet(0);
+            if (dropped > 0) {
+                ERR.println("GameLog.drain: Dropped " + dropped + " messages, ring buffer full");
+                wroteErr = true;
+            }
+            if (written > 0) {
+                OUT.flush();
+            }
+            if (wroteErr) {
+                ERR.flush();
+            }
+            return written;
+        }
+    }
+
+    private static Throwable format(Entry entry, StringBuilder line) {
+        Throwable throwable = null;
+        if (entry.level != Level.INFO) {
+            line.append(entry.level).append(' ');
+        }
+        if (!"JavaFX Application Thread".equals(entry.threadName)) {
+            line.append('[').append(entry.threadName).append("] ");
+        }
+        String template = entry.template;
+        int arg = 0;
+        int start = 0;
+        int index;
+        while (arg < entry.argCount && (index = template.indexOf("{}", start)) >= 0) {
+            line.append(template, start, index);
+            appendArg(entry, arg, line);
+            arg++;
+            start = index + 2;
+        }
+        line.append(template, start, template.length());
+        for (int i = 0; i < entry.argCount; i++) {
+            if ((entry.primitiveMask & (1 << i)) == 0 && entry.objects[i] instanceof Throwable t) {
+                throwable = t;
+            }
+        }
+        return throwable;
+    }
+
+    private static void appendArg(Entry entry, int arg, StringBuilder line) {
+        if ((entry.primitiveMask & (1 << arg)) != 0) {
+            line.append(entry.longs[arg]);
+        } else {
+            line.append(entry.objects[arg]);
+        }
+    }
+
+    private static Level parseLevel(String value) {
+        try {
+            return Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Level.INFO;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.pastrygame;
+
+import com.pastrygame.engine.GameSession;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+public class GameOverScene implements PooledScene {
+    private final VBox layout;
+    private final Label label;
+
+    public GameOverScene(SceneManager sceneManager) {
+        label = new Label();
+        label.setFont(Font.font("Verdana", FontWeight.BOLD, 28));
+        label.setTextFill(Color.DARKMAGENTA);
+        Button restartButton = new Button("Restart");
+        restartButton.setStyle("-fx-background-color: #ffb6c1; -fx-text-fill: white; -fx-padding: 10; -fx-font-size: 16;");
+        restartButton.setOnAction(e -> sceneManager.restartGame());
+        layout = new VBox(20, label, restartButton);
+        layout.setAlignment(Pos.CENTER);
+        layout.setStyle("-fx-background-color: #fff0f5;");
+        GameLog.info("GameOverScene.constructor: Game Over Scene created");
+    }
+
+    @Override
+    public Parent getRoot() {
+        return layout;
+    }
+
+    @Override
+    public void reset(GameSession session) {
+        label.setText("Game Over! Mistakes: " + session.getMistakes());
+    }
+}
@@ -1,8 +1,11 @@
 package com.pastrygame;
 
+import com.pastrygame.engine.GameSession;
+import com.pastrygame.engine.HangmanLevel;
+import com.pastrygame.engine.WordDictionary;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
+import javafx.scene.Parent;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Button;
@@ -12,26 +15,13 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Random;
 
-public class HangmanScene {
-    private static final List<String> PHRASES = List.of(
-            "banana", "butter", "chocolate", "milk", "salt",
-            "sugar", "vanilla", "flour", "eggs", "olive-oil"
-    );
-    private static final int MAX_TRIES = 6;
-    private static final int MAX_HINTS = 3;
-
+public class HangmanScene implements PooledScene {
+    private final Random random = new Random();
     private SceneManager sceneManager;
-    private String phrase;
-    private char[] guessedLetters;
-    private int triesLeft;
-    private int hintsUsed;
-    private List<Character> guessedChars;
+    private GameSession session;
+    private HangmanLevel level;
     private Label phraseLabel;
     private Label triesLabel;
     private Label guessedLettersLabel;
@@ -39,29 +29,24 @@ public class HangmanScene {
     private TextField guessField;
     private Button guessButton;
     private Button hintButton;
+    private VBox layout;
 
     public HangmanScene(SceneManager sceneManager) {
         this.sceneManager = sceneManager;
-        System.out.println("HangmanScene.constructor: Initializing HangmanScene");
-        initializeGame();
+        GameLog.info("HangmanScene.constructor: Initializing HangmanScene");
+        createRoot();
     }
 
     private void initializeGame() {
-        Random random = new Random();
-        phrase = PHRASES.get(random.nextInt(PHRASES.size())).toLowerCase();
-        guessedLetters = new char[phrase.length()];
-        for (int i = 0; i < guessedLetters.length; i++) {
-            guessedLetters[i] = (phrase.charAt(i) == ' ') ? '-' : '_';
-        }
-        triesLeft = MAX_TRIES;
-        hintsUsed = 0;
-        guessedChars = new ArrayList<>();
-        System.out.println("HangmanScene.initializeGame: Initialized with phrase: " + phrase);
+        WordDictionary dictionary = WordDictionary.getInstance();
+        String phrase = dictionary.nextWord(session.getDifficulty(), random);
+        level = new HangmanLevel(phrase, session, dictionary);
+        GameLog.info("HangmanScene.initializeGame: Initialized with {} phrase: {}", session.getDifficulty(), phrase);
     }
 
-    public Scene createScene() {
-        System.out.println("HangmanScene.createScene: Creating Hangman Scene");
-        VBox layout = new VBox(10);
+    private void createRoot() {
+        GameLog.info("HangmanScene.createRoot: Creating Hangman Scene");
+        layout = new VBox(10);
         layout.setAlignment(Pos.CENTER);
         layout.setPadding(new Insets(20));
         layout.setStyle("-fx-background-color: #fff0f5;");
@@ -71,15 +56,14 @@ public class HangmanScene {
         title.setTextFill(Color.DARKMAGENTA);
 
         hangmanCanvas = new Canvas(300, 300);
-        updateHangmanDrawing(0);
 
-        phraseLabel = new Label(formatPhraseDisplay(guessedLetters));
+        phraseLabel = new Label();
         phraseLabel.setFont(Font.font("Monospaced", FontWeight.BOLD, 24));
 
-        triesLabel = new Label("Tries left: " + triesLeft);
+        triesLabel = new Label();
         triesLabel.setFont(Font.font("Arial", FontWeight.BOLD, 20));
 
-        guessedLettersLabel = new Label("Guessed letters: ");
+        guessedLettersLabel = new Label();
         guessedLettersLabel.setFont(Font.font("Arial", FontWeight.BOLD, 20));
 
         guessField = new TextField();
@@ -89,146 +73,121 @@ public class HangmanScene {
         guessButton = new Button("Guess");
         guessButton.setStyle("-fx-background-color: #ffb6c1; -fx-text-fill: white; -fx-padding: 10; -fx-font-size: 16;");
         guessButton.setOnAction(e -> {
-            System.out.println("HangmanScene.createScene: Guess button clicked");
+            GameLog.info("HangmanScene: Guess button clicked");
             processGuess();
         });
 
-        hintButton = new Button("Hint (" + (MAX_HINTS - hintsUsed) + ")");
+        hintButton = new Button();
         hintButton.setStyle("-fx-background-color: #ffb6c1; -fx-text-fill: white; -fx-padding: 10; -fx-font-size: 16;");
         hintButton.setOnAction(e -> {
-            System.out.println("HangmanScene.createScene: Hint button clicked");
+            GameLog.info("HangmanScene: Hint button clicked");
             processHint();
         });
         Button backButton = new Button("Back to Menu");
         backButton.setStyle("-fx-background-color: #ffb6c1; -fx-text-fill: white; -fx-padding: 10; -fx-font-size: 16;");
         backButton.setOnAction(e -> {
-            System.out.println("HangmanScene.createScene: Back to Menu clicked");
+            GameLog.info("HangmanScene: Back to Menu clicked");
             sceneManager.showWelcomeScene();
         });
 
         layout.getChildren().addAll(title, hangmanCanvas, phraseLabel, triesLabel, guessedLettersLabel, guessField, guessButton, hintButton, backButton);
 
-        Scene scene = new Scene(layout, 800, 600);
-        System.out.println("HangmanScene.createScene: Hangman Scene created successfully");
-        return scene;
+        GameLog.info("HangmanScene.createRoot: Hangman Scene created successfully");
     }
 
-    private String formatPhraseDisplay(char[] letters) {
-        StringBuilder formatted = new StringBuilder();
-        for (char c : letters) {
-            if (c == '-') {
-                formatted.append("- ");
-            } else {
-                formatted.append(c).append(" ");
-            }
-        }
-        String result = formatted.toString().trim();
-        System.out.println("HangmanScene.formatPhraseDisplay: Formatted phrase: " + result);
-        return result;
+    @Override
+    public Parent getRoot() {
+        return layout;
+    }
+
+    @Override
+    public void reset(GameSession session) {
+        this.session = session;
+        initializeGame();
+        updateHangmanDrawing(0);
+        phraseLabel.setText(level.getDisplay());
+        triesLabel.setText("Tries left: " + level.getTriesLeft());
+        guessedLettersLabel.setText("Guessed letters: ");
+        hintButton.setText("Hint (" + level.getHintsLeft() + ")");
+        guessField.setText("");
+        guessButton.setDisable(false);
+        hintButton.setDisable(false);
+        guessField.setDisable(false);
     }
 
     private void processGuess() {
-        String guessText = guessField.getText().toLowerCase().trim();
-        System.out.println("HangmanScene.processGuess: Processing guess: " + guessText);
-        if (guessText.isEmpty()) {
-            showAlert("Please enter a letter.");
-            return;
-        }
-        if (guessText.length() > 1) {
-            showAlert("Please enter only one letter.");
-            return;
-        }
-        char guess = guessText.charAt(0);
-        if (!Character.isLetter(guess)) {
-            showAlert("Please enter a valid letter.");
-            return;
-        }
-        if (guessedChars.contains(guess)) {
-            showAlert("You already guessed that letter!");
-            return;
-        }
-        guessedChars.add(guess);
-        boolean correctGuess = false;
-        for (int i = 0; i < phrase.length(); i++) {
-            if (phrase.charAt(i) == guess) {
-                guessedLetters[i] = guess;
-                correctGuess = true;
+        String guessText = guessField.getText();
+        GameLog.info("HangmanScene.processGuess: Processing guess: {}", guessText);
+        HangmanLevel.GuessResult result = level.guess(guessText);
+        switch (result) {
+            case EMPTY -> showAlert("Please enter a letter.");
+            case TOO_LONG -> showAlert("Please enter only one letter.");
+            case NOT_A_LETTER -> showAlert("Please enter a valid letter.");
+            case ALREADY_GUESSED -> showAlert("You already guessed that letter!");
+            default -> {
+                boolean hit = result == HangmanLevel.GuessResult.HIT || result == HangmanLevel.GuessResult.WON;
+                GameEventBus events = GameEventBus.getInstance();
+                events.publish(new GameEvent.LetterGuessed(Character.toLowerCase(guessText.trim().charAt(0)), hit,
+                        level.getTriesLeft()));
+                if (!hit) {
+                    events.publish(new GameEvent.Mistake(GameEvent.Level.HANGMAN, session.getMistakes()));
+                }
+                SoundEffectMixer.getInstance().play(hit
+                        ? SoundEffectMixer.Effect.GUESS_HIT : SoundEffectMixer.Effect.GUESS_MISS);
+                if (!hit) {
+                    updateHangmanDrawing(level.getDrawingStage());
+                    GameLog.infoNum("HangmanScene.processGuess: Incorrect guess, tries left: {}, mistakes: {}",
+                            level.getTriesLeft(), session.getMistakes());
+                }
+                updateGameState();
+                guessField.setText("");
             }
         }
-        if (!correctGuess) {
-            triesLeft--;
-            updateHangmanDrawing(MAX_TRIES - triesLeft);
-            GameState.mistakes++;
-            System.out.println("HangmanScene.processGuess: Incorrect guess, tries left: " + triesLeft + ", mistakes: " + GameState.mistakes);
-        }
-        updateGameState();
-        guessField.setText("");
     }
 
     private void processHint() {
-        System.out.println("HangmanScene.processHint: Processing hint request");
-        if (hintsUsed >= MAX_HINTS) {
+        GameLog.info("HangmanScene.processHint: Processing hint request");
+        if (level.getHintsLeft() <= 0) {
             showAlert("No more hints available!");
             hintButton.setDisable(true);
-            System.out.println("HangmanScene.processHint: Max hints reached");
+            GameLog.info("HangmanScene.processHint: Max hints reached");
             return;
         }
-        char hintLetter = getLeastFrequentLetter();
+        char hintLetter = level.hint();
         if (hintLetter == '\0') {
             showAlert("No more hints available!");
-            System.out.println("HangmanScene.processHint: No valid hint letter found");
+            GameLog.info("HangmanScene.processHint: No valid hint letter found");
             return;
         }
-        guessedChars.add(hintLetter);
-        for (int i = 0; i < phrase.length(); i++) {
-            if (phrase.charAt(i) == hintLetter) {
-                guessedLetters[i] = hintLetter;
-            }
-        }
-        hintsUsed++;
-        hintButton.setText("Hint (" + (MAX_HINTS - hintsUsed) + ")");
-        if (hintsUsed >= MAX_HINTS) {
+        hintButton.setText("Hint (" + level.getHintsLeft() + ")");
+        if (level.getHintsLeft() <= 0) {
             hintButton.setDisable(true);
         }
-        System.out.println("HangmanScene.processHint: Hint provided: " + hintLetter + ", hints used: " + hintsUsed);
+        GameLog.info("HangmanScene.processHint: Hint provided: {}, hints left: {}, words still matching: {}",
+                String.valueOf(hintLetter), level.getHintsLeft(), WordDictionary.getInstance().countCandidates(level));
         updateGameState();
     }
-    private char getLeastFrequentLetter() {
-        Map<Character, Integer> letterCounts = new HashMap<>();
-        for (char c : phrase.toCharArray()) {
-            if (c != ' ' && !guessedChars.contains(c) && !String.valueOf(guessedLetters).contains(String.valueOf(c))) {
-                letterCounts.put(c, letterCounts.getOrDefault(c, 0) + 1);
-            }
-        }
-        char leastFrequent = '\0';
-        int minCount = Integer.MAX_VALUE;
-        for (Map.Entry<Character, Integer> entry : letterCounts.entrySet()) {
-            if (entry.getValue() < minCount) {
-                minCount = entry.getValue();
-                leastFrequent = entry.getKey();
-            }
-        }
-        System.out.println("HangmanScene.getLeastFrequentLetter: Selected hint letter: " + leastFrequent);
-        return leastFrequent;
-    }
 
     private void updateGameState() {
-        phraseLabel.setText(formatPhraseDisplay(guessedLetters));
-        triesLabel.setText("Tries left: " + triesLeft);
-        guessedLettersLabel.setText("Guessed letters: " + guessedChars);
-        String currentGuess = new String(guessedLetters).replace("-", " ");
-        if (currentGuess.equals(phrase)) {
-            System.out.println("HangmanScene.updateGameState: Phrase guessed correctly");
+        phraseLabel.setText(level.getDisplay());
+        triesLabel.setText("Tries left: " + level.getTriesLeft());
+        guessedLettersLabel.setText("Guessed letters: " + level.getGuessedLetters());
+        if (level.isWon()) {
+            GameLog.info("HangmanScene.updateGameState: Phrase guessed correctly");
+            GameEventBus.getInstance().publish(new GameEvent.LevelComplete(GameEvent.Level.HANGMAN, true,
+                    level.getDrawingStage()));
             showWinMessage();
-        } else if (triesLeft <= 0 || GameState.mistakes >= 6) {
-            System.out.println("HangmanScene.updateGameState: Game over, tries left: " + triesLeft + ", mistakes: " + GameState.mistakes);
-            showAlert("Game Over! The phrase was: " + phrase);
+        } else if (level.isLost()) {
+            GameLog.infoNum("HangmanScene.updateGameState: Game over, tries left: {}, mistakes: {}", level.getTriesLeft(), session.getMistakes());
+            GameEventBus.getInstance().publish(new GameEvent.LevelComplete(GameEvent.Level.HANGMAN, false,
+                    level.getDrawingStage()));
+            showAlert("Game Over! The phrase was: " + level.getPhrase());
             sceneManager.showGameOverScene();
         }
     }
 
     private void updateHangmanDrawing(int stage) {
-        System.out.println("HangmanScene.updateHangmanDrawing: Drawing stage: " + stage);
+        GameLog.infoNum("HangmanScene.updateHangmanDrawing: Drawing stage: {}", stage);
         GraphicsContext gc = hangmanCanvas.getGraphicsContext2D();
         gc.clearRect(0, 0, hangmanCanvas.getWidth(), hangmanCanvas.getHeight());
         gc.setStroke(Color.BLACK);
@@ -267,7 +226,7 @@ public class HangmanScene {
     }
 
     private void showAlert(String message) {
-        System.out.println("HangmanScene.showAlert: Showing alert: " + message);
+        GameLog.info("HangmanScene.showAlert: Showing alert: {}", message);
         javafx.scene.control.Alert alert = new javafx.scene.control.Alert(javafx.scene.control.Alert.AlertType.INFORMATION);
         alert.setTitle("Hangman");
         alert.setHeaderText(null);
@@ -276,11 +235,11 @@ public class HangmanScene {
     }
 
     private void showWinMessage() {
-        System.out.println("HangmanScene.showWinMessage: Showing win message");
+        GameLog.info("HangmanScene.showWinMessage: Showing win message");
         guessButton.setDisable(true);
         hintButton.setDisable(true);
         guessField.setDisable(true);
-        showAlert("Congratulations! You guessed the phrase: " + phrase);
+        showAlert("Congratulations! You guessed the phrase: " + level.getPhrase());
         sceneManager.showWinScene(); // Changed from showWelcomeScene to showWinScene
     }
 
@@ -0,0 +1,191 @@
+package com.pastrygame;
+
+import javafx.scene.image.Image;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shared cache of decoded images. Images are decoded straight at the size they are
+ * displayed at and evicted least-recently-used once the byte budget is exceeded.
+ */
+public class ImageAssetCache {
+    private static final long DEFAULT_BUDGET_BYTES = 32L * 1024 * 1024;
+    private static final String FALLBACK_PREFIX = "fallback:";
+    private static ImageAssetCache instance;
+
+    private final Map<Key, Image> images = new LinkedHashMap<>(64, 0.75f, true);
+    private final long budgetBytes;
+    private final LatencyHistogram decodeLatency;
+    private final Metrics.Counter decodeFailures;
+    private final Metrics.Counter fallbacks;
+    private long bytesUsed;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    private record Key(String path, int width, int height, boolean smooth) {
+    }
+
+    private ImageAssetCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        Metrics metrics = Metrics.getInstance();
+        this.decodeLatency = metrics.histogram("assets.image.decode");
+        this.decodeFailures = metrics.counter("assets.image.failures");
+        this.fallbacks = metrics.counter("assets.image.fallbacks");
+        metrics.gauge("assets.image.hits", this::getHits);
+        metrics.gauge("assets.image.misses", this::getMisses);
+        metrics.gauge("assets.image.evictions", this::getEvictions);
+        metrics.gauge("assets.image.bytes", this::getBytesUsed);
+    }
+
+    public static synchronized ImageAssetCache getInstance() {
+        if (instance == null) {
+            instance = new ImageAssetCache(Long.getLong("pastry.imageCache.budgetBytes", DEFAULT_BUDGET_BYTES));
+            GameLog.infoNum("ImageAssetCache.getInstance: Initialized with budget {} bytes", instance.budgetBytes);
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the image at {@code path} decoded at {@code width}x{@code height}, or
+     * {@code null} if the resource is missing or cannot be decoded.
+     */
+    public Image getImage(String path, double width, double height, boolean smooth) {
+        Key key = new Key(path, (int) width, (int) height, smooth);
+        Image cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+        Image image = decodeUncached(path, width, height, smooth);
+        return image != null ? store(key, image) : null;
+    }
+
+    /**
+     * Same as {@link #getImage(String, double, double, boolean)} but falls back to a
+     * labelled placeholder when the resource cannot be loaded. Must be called on the FX thread.
+     */
+    public Image getImage(String path, double width, double height, boolean smooth, String fallbackText, int fallbackFontSize) {
+        Image image = getImage(path, width, height, smooth);
+        return image != null ? image : getFallbackImage(fallbackText, width, height, fallbackFontSize);
+    }
+
+    /**
+     * Returns a light-gray placeholder with {@code text} centered on it. Must be called on the FX thread.
+     */
+    public Image getFallbackImage(String text, double width, double height, int fontSize) {
+        Key key = new Key(FALLBACK_PREFIX + fontSize + ":" + text, (int) width, (int) height, false);
+        Image cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+        fallbacks.increment();
+        Text fallbackText = new Text(text);
+        fallbackText.setFont(Font.font("Arial", FontWeight.BOLD, fontSize));
+        fallbackText.setFill(Color.BLACK);
+        StackPane stackPane = new StackPane(fallbackText);
+        stackPane.setStyle("-fx-background-color: lightgray; -fx-border-color: black; -fx-border-width: 1;");
+        stackPane.setPrefSize(width, height);
+        GameLog.info("ImageAssetCache.getFallbackImage: Fallback image created for: {}", text);
+        return store(key, stackPane.snapshot(null, null));
+    }
+
+    /**
+     * Decodes the image at {@code path} without caching it, for images that are copied elsewhere
+     * such as into a {@link TextureAtlas}. Returns {@code null} if it cannot be loaded.
+     */
+    public Image decodeUncached(String path, double width, double height, boolean smooth) {
+        long start = System.nanoTime();
+        Image image = decode(path, width, height, smooth);
+        if (image == null) {
+            decodeFailures.increment();
+            return null;
+        }
+        decodeLatency.recordSince(start);
+        return image;
+    }
+
+    private Image decode(String path, double width, double height, boolean smooth) {
+        try (InputStream stream = getClass().getResourceAsStream(path)) {
+            if (stream == null) {
+                GameLog.error("ImageAssetCache.decode: Image not found: {}", path);
+                return null;
+            }
+            Image image = new Image(stream, width, height, false, smooth);
+            if (image.isError()) {
+                GameLog.error("ImageAssetCache.decode: Error loading image: {}", path);
+                return null;
+            }
+            return image;
+        } catch (Exception e) {
+            GameLog.error("ImageAssetCache.decode: Error loading image: {} - {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private synchronized Image lookup(Key key) {
+        Image image = images.get(key);
+        if (image != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return image;
+    }
+
+    private synchronized Image store(Key key, Image image) {
+        Image existing = images.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        images.put(key, image);
+        bytesUsed += sizeOf(image);
+        Iterator<Map.Entry<Key, Image>> eldest = images.entrySet().iterator();
+        while (bytesUsed > budgetBytes && images.size() > 1 && eldest.hasNext()) {
+            Map.Entry<Key, Image> entry = eldest.next();
+            if (entry.getKey().equals(key)) {
+                continue;
+            }
+            bytesUsed -= sizeOf(entry.getValue());
+            eldest.remove();
+            evictions++;
+        }
+        return image;
+    }
+
+    private static long sizeOf(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4L;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getBytesUsed() {
+        return bytesUsed;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public synchronized String getStats() {
+        return "entries=" + images.size() + ", hits=" + hits + ", misses=" + misses
+                + ", evictions=" + evictions + ", bytes=" + bytesUsed + "/" + budgetBytes;
+    }
+}
@@ -0,0 +1,58 @@
+package com.pastrygame;
+
+import java.util.List;
+
+/**
+ * Counts the outcome of every level from the {@link GameEventBus}, on a thread of its own, into
+ * the {@code level.*} metrics: ingredient checks, puzzles solved or timed out, memory rounds,
+ * hangman games, and the mistakes, moves or misses a won level took.
+ */
+public final class LevelMetrics {
+    private final Metrics metrics = Metrics.getInstance();
+
+    private LevelMetrics() {
+    }
+
+    public static void subscribe(GameEventBus bus) {
+        LevelMetrics levelMetrics = new LevelMetrics();
+        bus.subscribe("metrics", GameEvent.class, GameEventBus.newSubscriberThread("metrics"), levelMetrics::record);
+    }
+
+    private void record(List<GameEvent> events) {
+        for (GameEvent event : events) {
+            switch (event) {
+                case GameEvent.IngredientChecked checked -> metrics.counter(switch (checked.outcome()) {
+                    case CORRECT -> "level.ingredient.correct";
+                    case INCORRECT -> "level.ingredient.incorrect";
+                    case GAME_OVER -> "level.ingredient.gameOver";
+                }).increment();
+                case GameEvent.LevelComplete complete -> recordLevel(complete);
+                default -> {
+                }
+            }
+        }
+    }
+
+    private void recordLevel(GameEvent.LevelComplete complete) {
+        boolean won = complete.won();
+        switch (complete.level()) {
+            case INGREDIENTS -> {
+                if (won) {
+                    metrics.histogram("level.ingredient.mistakes", "mistakes").record(complete.tally());
+                }
+            }
+            case PUZZLE -> metrics.counter(won ? "level.puzzle.solved" : "level.puzzle.timedOut").increment();
+            case SLIDING_PUZZLE -> {
+                metrics.counter("level.slidingPuzzle.solved").increment();
+                metrics.histogram("level.slidingPuzzle.moves", "moves").record(complete.tally());
+            }
+            case MEMORY -> metrics.counter(won ? "level.memory.complete" : "level.memory.timedOut").increment();
+            case HANGMAN -> {
+                metrics.counter(won ? "level.hangman.won" : "level.hangman.lost").increment();
+                if (won) {
+                    metrics.histogram("level.hangman.misses", "misses").record(complete.tally());
+                }
+            }
+        }
+    }
+}
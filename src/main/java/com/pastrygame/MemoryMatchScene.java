@@ -1,199 +1,287 @@
 package com.pastrygame;
 
-import javafx.animation.PauseTransition;
+import com.pastrygame.engine.GameSession;
+import com.pastrygame.engine.MemoryLevel;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
+import javafx.scene.Parent;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.scene.layout.GridPane;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
-import javafx.scene.layout.StackPane;
 import javafx.util.Duration;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
-public class MemoryMatchScene {
-    private static final int GRID_SIZE = 4;
-    private static final int CARD_SIZE = 100;
+/**
+ * Level 2: the memory-match board, drawn on one {@link Canvas}. Card state lives in
+ * {@link MemoryLevel} and in primitive arrays here, a click is mapped to its card by dividing
+ * its coordinates by the card pitch, and only cards that are flipping are redrawn each frame.
+ * The board size comes from {@code -Dpastry.memory.gridSize} (an even number up to 12) and a
+ * time attack is turned on with {@code -Dpastry.memory.timeLimit} in seconds.
+ */
+public class MemoryMatchScene implements PooledScene {
+    private static final int MAX_GRID_SIZE = 12;
+    static final int GRID_SIZE = Math.max(2, Math.min(MAX_GRID_SIZE, Integer.getInteger("pastry.memory.gridSize", 4))) & ~1;
+    private static final int TIME_LIMIT = Integer.getInteger("pastry.memory.timeLimit", 0);
+    private static final double BOARD_SIZE = 440;
+    private static final double PITCH = BOARD_SIZE / GRID_SIZE;
+    private static final double GAP = Math.min(10, PITCH / 10);
+    private static final double CARD_SIZE = PITCH - GAP;
     private static final int DELAY = 1000;
+    private static final long FLIP_NANOS = 200_000_000L;
+    private static final long NOT_FLIPPING = Long.MIN_VALUE;
+    private static final Color CARD_COLOR = Color.web("#ffb6c1");
+    static final int IMAGE_SIZE = (int) (CARD_SIZE * 0.9);
+    static final List<String> CARD_IMAGES = List.of(
+            "/images/cake.png", "/images/muffin.png", "/images/donut.png", "/ingredients/milk.png",
+            "/ingredients/eggs.png", "/ingredients/sugar.png", "/ingredients/vanilla.png", "/ingredients/chocolate.png"
+    );
     private SceneManager sceneManager;
-    private List<Button> cards;
-    private List<String> imagePaths;
-    private Button firstCard;
-    private Button secondCard;
-    private int matchesFound;
+    private final Random random = new Random();
+    private final TextureAtlas.Sprite[] faceSprites = new TextureAtlas.Sprite[CARD_IMAGES.size()];
+    // When each card started turning, and which side it turns to.
+    private final long[] flipStart = new long[GRID_SIZE * GRID_SIZE];
+    private final boolean[] turningUp = new boolean[GRID_SIZE * GRID_SIZE];
+    private int flipping;
+    private MemoryLevel level;
+    private Canvas board;
+    private GraphicsContext graphics;
+    private AnimationTimer flipAnimation;
+    private GameClock.Countdown countdown;
+    private Text timerText;
     private Label statusLabel;
-    private boolean isWaiting;
     private Button nextButton;
+    private VBox layout;
 
     public MemoryMatchScene(SceneManager sceneManager) {
         this.sceneManager = sceneManager;
-        this.cards = new ArrayList<>();
-        this.imagePaths = new ArrayList<>();
-        this.matchesFound = 0;
-        this.isWaiting = false;
-        System.out.println("MemoryMatchScene.constructor: Initializing MemoryMatchScene");
-        initializeGame();
+        GameLog.info("MemoryMatchScene.constructor: Initializing MemoryMatchScene");
+        createRoot();
     }
 
     private void initializeGame() {
-        List<String> images = new ArrayList<>(List.of(
-                "/images/cake.png",
-                "/images/cake.png","/images/muffin.png","/images/muffin.png","/images/donut.png",
-                "/images/donut.png","/ingredients/milk.png","/ingredients/milk.png","/ingredients/eggs.png",
-                "/ingredients/eggs.png","/ingredients/sugar.png","/ingredients/sugar.png","/ingredients/vanilla.png",
-                "/ingredients/vanilla.png","/ingredients/chocolate.png","/ingredients/chocolate.png"
-        ));
-        Collections.shuffle(images);
-        imagePaths.addAll(images);
-        System.out.println("MemoryMatchScene.initializeGame: Image paths initialized and shuffled");
+        level = new MemoryLevel(CARD_IMAGES, GRID_SIZE * GRID_SIZE / 2, TIME_LIMIT, random);
+        GameLog.info("MemoryMatchScene.initializeGame: Cards shuffled");
     }
 
-    public Scene createScene() {
-        System.out.println("MemoryMatchScene.createScene: Creating Memory Match Scene");
+    private void createRoot() {
+        GameLog.info("MemoryMatchScene.createRoot: Creating Memory Match Scene");
         Text title = new Text("Memory Match Game (Level 2)");
         title.setFont(Font.font("Verdana", FontWeight.BOLD, 28));
         title.setFill(Color.DARKMAGENTA);
 
-        GridPane grid = new GridPane();
-        grid.setAlignment(Pos.CENTER);
-        grid.setHgap(10);
-        grid.setVgap(10);
-
-        for (int row = 0; row < GRID_SIZE; row++) {
-            for (int col = 0; col < GRID_SIZE; col++) {
-                Button card = new Button();
-                card.setMinSize(CARD_SIZE, CARD_SIZE);
-                card.setStyle("-fx-background-color: #ffb6c1;");
-                int index = row * GRID_SIZE + col;
-                card.setOnAction(e -> handleCardClick(card, index));
-                cards.add(card);
-                grid.add(card, col, row);
+        timerText = new Text();
+        timerText.setFont(Font.font("Verdana", FontWeight.BOLD, 20));
+        timerText.setFill(Color.DARKBLUE);
+        timerText.setVisible(TIME_LIMIT > 0);
+        timerText.setManaged(TIME_LIMIT > 0);
+
+        board = new Canvas(BOARD_SIZE, BOARD_SIZE);
+        graphics = board.getGraphicsContext2D();
+        board.setOnMouseClicked(this::handleBoardClick);
+
+        flipAnimation = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                for (int card = 0; card < flipStart.length; card++) {
+                    if (flipStart[card] != NOT_FLIPPING) {
+                        drawCard(card, now);
+                    }
+                }
+                if (flipping == 0) {
+                    sceneManager.stop(this);
+                }
             }
-        }
+        };
 
-        statusLabel = new Label("Pairs Found: 0 / 8");
+        statusLabel = new Label();
         statusLabel.setFont(Font.font("Arial", FontWeight.BOLD, 20));
         nextButton = new Button("Next Level");
         nextButton.setStyle("-fx-background-color: #ffb6c1; -fx-text-fill: white; -fx-padding: 10; -fx-font-size: 16;");
         nextButton.setVisible(false);
         nextButton.setOnAction(e -> {
-            System.out.println("MemoryMatchScene.createScene: Next button clicked, attempting to switch to Hangman");
+            GameLog.info("MemoryMatchScene: Next button clicked, attempting to switch to Hangman");
             try {
                 sceneManager.showHangmanScene();
-                System.out.println("MemoryMatchScene.createScene: Called showHangmanScene successfully");
+                GameLog.info("MemoryMatchScene: Called showHangmanScene successfully");
             } catch (Exception ex) {
-                System.err.println("MemoryMatchScene.createScene: Error switching to Hangman: " + ex.getMessage());
-                ex.printStackTrace();
+                GameLog.error("MemoryMatchScene: Error switching to Hangman: {}", ex.getMessage(), ex);
             }
         });
 
         Button backButton = new Button("Back to Menu");
         backButton.setStyle("-fx-background-color: #ffb6c1; -fx-text-fill: white; -fx-padding: 10; -fx-font-size: 16;");
         backButton.setOnAction(e -> {
-            System.out.println("MemoryMatchScene.createScene: Back to Menu clicked");
+            GameLog.info("MemoryMatchScene: Back to Menu clicked");
             sceneManager.showWelcomeScene();
         });
 
-        VBox layout = new VBox(20, title, grid, statusLabel, nextButton, backButton);
+        layout = new VBox(20, title, timerText, board, statusLabel, nextButton, backButton);
         layout.setAlignment(Pos.CENTER);
         layout.setPadding(new Insets(20));
         layout.setStyle("-fx-background-color: #fff0f5;");
+        GameLog.infoNum("MemoryMatchScene.createRoot: Memory Match Scene created with {} cards", flipStart.length);
+    }
+
+    @Override
+    public Parent getRoot() {
+        return layout;
+    }
+
+    private void hideMismatch() {
+        int first = level.getFirstCard();
+        int second = level.getSecondCard();
+        level.hideMismatch();
+        startFlip(first, false);
+        startFlip(second, false);
+        GameLog.info("MemoryMatchScene.hideMismatch: Cards hidden after mismatch");
+    }
+
+    private void onSecond() {
+        boolean timedOut = level.tick();
+        timerText.setText("Time Left: " + level.getTimeLeft() + " seconds");
+        if (timedOut) {
+            GameEventBus.getInstance().publish(new GameEvent.LevelComplete(GameEvent.Level.MEMORY, false, 0));
+            // showAndWait is not allowed while an animation frame is being processed.
+            Platform.runLater(() -> {
+                showAlert("Time's up!");
+                sceneManager.getSession().reset();
+                sceneManager.showWelcomeScene();
+            });
+        }
+    }
+
+    @Override
+    public void reset(GameSession session) {
+        initializeGame();
+        TextureAtlas sprites = AssetPrefetcher.getInstance().getSpriteAtlas();
+        for (int face = 0; face < faceSprites.length; face++) {
+            faceSprites[face] = sprites.getSprite(CARD_IMAGES.get(face), IMAGE_SIZE, IMAGE_SIZE);
+        }
+        Arrays.fill(flipStart, NOT_FLIPPING);
+        Arrays.fill(turningUp, false);
+        flipping = 0;
+        graphics.clearRect(0, 0, BOARD_SIZE, BOARD_SIZE);
+        long now = System.nanoTime();
+        for (int card = 0; card < flipStart.length; card++) {
+            drawCard(card, now);
+        }
+        statusLabel.setText("Pairs Found: 0 / " + level.getPairCount());
+        nextButton.setVisible(false);
+        if (level.hasTimeLimit()) {
+            timerText.setText("Time Left: " + level.getTimeLeft() + " seconds");
+            countdown = sceneManager.getClock().countdown(level.getTimeLeft(), timeLeft -> onSecond());
+        }
+    }
 
-        Scene scene = new Scene(layout, 800, 600);
-        System.out.println("MemoryMatchScene.createScene: Memory Match Scene created");
-        return scene;
+    // Cards sit on a grid of PITCH-sized cells, so the cell under the pointer is a division away.
+    private void handleBoardClick(MouseEvent event) {
+        int column = (int) (event.getX() / PITCH);
+        int row = (int) (event.getY() / PITCH);
+        if (column < 0 || column >= GRID_SIZE || row < 0 || row >= GRID_SIZE) {
+            return;
+        }
+        double inCellX = event.getX() - column * PITCH - GAP / 2;
+        double inCellY = event.getY() - row * PITCH - GAP / 2;
+        if (inCellX >= 0 && inCellX < CARD_SIZE && inCellY >= 0 && inCellY < CARD_SIZE) {
+            handleCardClick(row * GRID_SIZE + column);
+        }
     }
 
-    private void handleCardClick(Button card, int index) {
-        if (isWaiting || card.getGraphic() != null) return;
-        System.out.println("MemoryMatchScene.handleCardClick: Card clicked at index " + index);
-        ImageView imageView = loadImageView(imagePaths.get(index));
-        imageView.setFitWidth(CARD_SIZE - 10);
-        imageView.setFitHeight(CARD_SIZE - 10);
-        card.setGraphic(imageView);
-        if (firstCard == null) {
-            firstCard = card;
-            System.out.println("MemoryMatchScene.handleCardClick: First card selected");
-        } else if (secondCard == null) {
-            secondCard = card;
-            isWaiting = true;
-            System.out.println("MemoryMatchScene.handleCardClick: Second card selected, checking for match");
-            checkForMatch();
+    private void handleCardClick(int index) {
+        int firstCard = level.getFirstCard();
+        MemoryLevel.FlipResult result = level.flip(index);
+        if (result == MemoryLevel.FlipResult.IGNORED) return;
+        GameLog.infoNum("MemoryMatchScene.handleCardClick: Card clicked at index {}", index);
+        startFlip(index, true);
+        SoundEffectMixer.getInstance().play(SoundEffectMixer.Effect.CARD_FLIP);
+        switch (result) {
+            case FIRST -> GameLog.info("MemoryMatchScene.handleCardClick: First card selected");
+            case MATCH, COMPLETE -> {
+                drawCard(firstCard, System.nanoTime());
+                showMatch();
+            }
+            case MISMATCH -> {
+                GameLog.info("MemoryMatchScene.handleCardClick: No match, hiding cards after delay");
+                sceneManager.getClock().schedule(Duration.millis(DELAY), this::hideMismatch);
+            }
+            default -> {
+            }
         }
     }
 
-    private void checkForMatch() {
-        ImageView firstImage = (ImageView) firstCard.getGraphic();
-        ImageView secondImage = (ImageView) secondCard.getGraphic();
-        String firstPath = imagePaths.get(cards.indexOf(firstCard));
-        String secondPath = imagePaths.get(cards.indexOf(secondCard));
-        System.out.println("MemoryMatchScene.checkForMatch: Comparing " + firstPath + " with " + secondPath);
-        if (firstPath.equals(secondPath)) {
-            firstCard.setDisable(true);
-            secondCard.setDisable(true);
-            matchesFound++;
-            statusLabel.setText("Pairs Found: " + matchesFound + " / 8");
-            System.out.println("MemoryMatchScene.checkForMatch: Match found, pairs found: " + matchesFound);
-            resetCards();
-            if (matchesFound == 8) {
-                System.out.println("MemoryMatchScene.checkForMatch: All 8 pairs found, enabling Next button");
-                nextButton.setVisible(true);
-                nextButton.requestFocus();
-                cards.forEach(card -> card.setDisable(true));
-                statusLabel.setText("Congratulations! All pairs found!");
+    private void showMatch() {
+        int pairsFound = level.getPairsFound();
+        GameEventBus.getInstance().publish(new GameEvent.PairMatched(pairsFound, level.getPairCount()));
+        statusLabel.setText("Pairs Found: " + pairsFound + " / " + level.getPairCount());
+        GameLog.infoNum("MemoryMatchScene.showMatch: Match found, pairs found: {}", pairsFound);
+        if (level.isComplete()) {
+            GameLog.info("MemoryMatchScene.showMatch: All pairs found, enabling Next button");
+            if (countdown != null) {
+                countdown.cancel();
             }
-        } else {
-            System.out.println("MemoryMatchScene.checkForMatch: No match, hiding cards after delay");
-            PauseTransition pause = new PauseTransition(Duration.millis(DELAY));
-            pause.setOnFinished(e -> {
-                firstCard.setGraphic(null);
-                secondCard.setGraphic(null);
-                resetCards();
-                System.out.println("MemoryMatchScene.checkForMatch: Cards hidden after mismatch");
-            });
-            pause.play();
+            GameEventBus.getInstance().publish(new GameEvent.LevelComplete(GameEvent.Level.MEMORY, true, 0));
+            nextButton.setVisible(true);
+            nextButton.requestFocus();
+            statusLabel.setText("Congratulations! All pairs found!");
         }
     }
-    private void resetCards() {
-        firstCard = null;
-        secondCard = null;
-        isWaiting = false;
-        System.out.println("MemoryMatchScene.resetCards: Cards reset");
+
+    private void startFlip(int card, boolean up) {
+        if (flipStart[card] == NOT_FLIPPING) {
+            flipping++;
+        }
+        flipStart[card] = System.nanoTime();
+        turningUp[card] = up;
+        if (flipping == 1) {
+            sceneManager.start(flipAnimation);
+        }
     }
 
-    private ImageView loadImageView(String path) {
-        try {
-            Image image = new Image(getClass().getResourceAsStream(path));
-            if (image.isError()) {
-                System.err.println("MemoryMatchScene.loadImageView: Error loading image: " + path);
-                return createFallbackImageView(path);
+    // A flip squeezes the card to nothing and widens it again with the other side showing.
+    // Matched cards are drawn faded, as the disabled buttons of the old board were.
+    private void drawCard(int card, long now) {
+        double cellX = card % GRID_SIZE * PITCH;
+        double cellY = card / GRID_SIZE * PITCH;
+        graphics.clearRect(cellX, cellY, PITCH, PITCH);
+        double progress = 1;
+        if (flipStart[card] != NOT_FLIPPING) {
+            progress = Math.max(0, (now - flipStart[card]) / (double) FLIP_NANOS);
+            if (progress >= 1) {
+                progress = 1;
+                flipStart[card] = NOT_FLIPPING;
+                flipping--;
             }
-            System.out.println("MemoryMatchScene.loadImageView: Image loaded: " + path);
-            return new ImageView(image);
-        } catch (NullPointerException e) {
-            System.err.println("MemoryMatchScene.loadImageView: Image not found: " + path);
-            return createFallbackImageView(path);
         }
+        boolean faceShowing = progress < 0.5 ? !turningUp[card] : turningUp[card];
+        double scale = Math.abs(1 - 2 * progress);
+        double width = CARD_SIZE * scale;
+        double x = cellX + GAP / 2 + (CARD_SIZE - width) / 2;
+        double y = cellY + GAP / 2;
+        graphics.setGlobalAlpha(level.isMatched(card) && progress == 1 ? 0.4 : 1);
+        graphics.setFill(CARD_COLOR);
+        graphics.fillRoundRect(x, y, width, CARD_SIZE, GAP, GAP);
+        if (faceShowing) {
+            double inset = (CARD_SIZE - IMAGE_SIZE) / 2;
+            faceSprites[level.getFaceId(card)].draw(graphics, x + inset * scale, y + inset, IMAGE_SIZE * scale, IMAGE_SIZE);
+        }
+        graphics.setGlobalAlpha(1);
     }
 
-    private ImageView createFallbackImageView(String text) {
-        Text fallbackText = new Text(text);
-        fallbackText.setFont(Font.font("Arial", FontWeight.BOLD, 14));
-        fallbackText.setFill(Color.BLACK);
-        StackPane stackPane = new StackPane(fallbackText);
-        stackPane.setStyle("-fx-background-color: lightgray; -fx-border-color: black; -fx-border-width: 1;");
-        stackPane.setPrefSize(CARD_SIZE - 10, CARD_SIZE - 10);
-        System.out.println("MemoryMatchScene.createFallbackImageView: Fallback image created for: " + text);
-        return new ImageView(stackPane.snapshot(null, null));
+    private void showAlert(String message) {
+        javafx.scene.control.Alert alert = new javafx.scene.control.Alert(javafx.scene.control.Alert.AlertType.INFORMATION);
+        alert.setContentText(message);
+        alert.showAndWait();
     }
-}
\ No newline at end of file
+}
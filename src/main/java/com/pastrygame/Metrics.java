@@ -0,0 +1,147 @@
+package com.pastrygame;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * The game's counters, gauges and {@link LatencyHistogram}s, looked up by dotted name such as
+ * {@code scene.PuzzleScene.show}. Every metric is published as an MXBean named
+ * {@code com.pastrygame:type=<Counter|Gauge|Histogram>,name=<name>}, so a running game can be
+ * inspected with JConsole or scraped by a local JMX agent. Metrics are created once and kept;
+ * call sites on hot paths should hold on to them rather than look them up every time.
+ * <p>
+ * Starting the platform MBean server takes hundreds of milliseconds, so metrics are published
+ * from a background thread and are usable before they show up over JMX.
+ */
+public final class Metrics {
+    private static final String DOMAIN = "com.pastrygame";
+    private static Metrics instance;
+
+    private final Map<String, Object> metrics = new ConcurrentHashMap<>();
+    private final ExecutorService publisher;
+
+    public interface CounterMXBean {
+        long getCount();
+    }
+
+    public interface GaugeMXBean {
+        long getValue();
+    }
+
+    public interface HistogramMXBean {
+        long getCount();
+
+        double getMean();
+
+        long getMax();
+
+        long getP50();
+
+        long getP90();
+
+        long getP99();
+
+        long getP999();
+
+        String getUnit();
+    }
+
+    /**
+     * A count that only goes up, such as images that fell back to a placeholder.
+     */
+    public static final class Counter implements CounterMXBean {
+        private final LongAdder count = new LongAdder();
+
+        public void increment() {
+            count.increment();
+        }
+
+        @Override
+        public long getCount() {
+            return count.sum();
+        }
+    }
+
+    private record Gauge(LongSupplier value) implements GaugeMXBean {
+        @Override
+        public long getValue() {
+            return value.getAsLong();
+        }
+    }
+
+    private Metrics() {
+        this.publisher = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-jmx");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    public static synchronized Metrics getInstance() {
+        if (instance == null) {
+            instance = new Metrics();
+            GameLog.info("Metrics.getInstance: Publishing metrics over JMX under {}", DOMAIN);
+        }
+        return instance;
+    }
+
+    public Counter counter(String name) {
+        return (Counter) metrics.computeIfAbsent(name, key -> register("Counter", key, new Counter()));
+    }
+
+    /**
+     * Returns the histogram {@code name}, recording microseconds if it is created by this call.
+     */
+    public LatencyHistogram histogram(String name) {
+        return histogram(name, "us");
+    }
+
+    public LatencyHistogram histogram(String name, String unit) {
+        return (LatencyHistogram) metrics.computeIfAbsent(name, key -> register("Histogram", key, new LatencyHistogram(unit)));
+    }
+
+    /**
+     * Publishes {@code value} as the gauge {@code name}. It is read whenever the gauge is, from a
+     * JMX thread, so it must be thread-safe. A gauge that already exists is kept.
+     */
+    public void gauge(String name, LongSupplier value) {
+        metrics.computeIfAbsent(name, key -> register("Gauge", key, new Gauge(value)));
+    }
+
+    /**
+     * Returns every metric by name, with its current count or value, for logging.
+     */
+    public String getStats() {
+        Map<String, String> values = new TreeMap<>();
+        metrics.forEach((name, metric) -> values.put(name, switch (metric) {
+            case Counter counter -> String.valueOf(counter.getCount());
+            case Gauge gauge -> String.valueOf(gauge.getValue());
+            case LatencyHistogram histogram -> "{" + histogram.getStats() + "}";
+            default -> String.valueOf(metric);
+        }));
+        return values.toString();
+    }
+
+    // A metric that cannot be published still counts; it is only missing from JMX.
+    private Object register(String type, String name, Object metric) {
+        publisher.execute(() -> {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                server.registerMBean(metric, new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name)));
+            } catch (JMException e) {
+                GameLog.warn("Metrics.register: Could not publish {} over JMX: {}", name, e.toString());
+            }
+        });
+        return metric;
+    }
+}
@@ -0,0 +1,246 @@
+package com.pastrygame;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A small panel in the top-left corner with the frame time, the worst frame of the last
+ * {@value #SAMPLES} frames, a sparkline of them, heap use, the latest GC pauses and the number of
+ * nodes in the scene graph. Frame times are the gaps between pulses seen by an AnimationTimer.
+ * <p>
+ * To stay cheap the panel is a single canvas: every pulse only stores the frame time, the text
+ * and sparkline are redrawn every {@value #REDRAW_FRAMES} frames and the scene graph is counted
+ * every {@value #COUNT_FRAMES}. The panel shows its own average cost per frame on the last line.
+ * Used from the FX thread, apart from the GC listener.
+ */
+public class PerformanceOverlay {
+    private static final int SAMPLES = 120;
+    private static final int REDRAW_FRAMES = 6;
+    private static final int COUNT_FRAMES = 30;
+    private static final int GC_PAUSES = 4;
+    private static final double WIDTH = 260;
+    private static final double HEIGHT = 150;
+    private static final double SPARK_TOP = 96;
+    private static final double SPARK_HEIGHT = 40;
+    // Frame times at the top of the sparkline; slower frames are clipped.
+    private static final double SPARK_MAX_MS = 50;
+    private static final double TARGET_MS = 1000.0 / 60;
+    private static final Font FONT = Font.font("Monospaced", 12);
+
+    private final Canvas canvas = new Canvas(WIDTH, HEIGHT);
+    private final AnimationTimer probe;
+    private final long[] frameNanos = new long[SAMPLES];
+    private final double[] sparkX = new double[SAMPLES];
+    private final double[] sparkY = new double[SAMPLES];
+    private final StringBuilder line = new StringBuilder(64);
+    // Written by the GC notification thread, newest last.
+    private final long[] gcPauseMillis = new long[GC_PAUSES];
+    private int gcPauseCount;
+    private MemoryMXBean memory;
+    private int frame;
+    private long lastPulse;
+    private int nodeCount;
+    private long ownNanos;
+    private long ownFrames;
+
+    public PerformanceOverlay() {
+        canvas.setManaged(false);
+        canvas.setMouseTransparent(true);
+        canvas.relocate(8, 8);
+        canvas.setVisible(false);
+        for (int i = 0; i < SAMPLES; i++) {
+            sparkX[i] = 8 + i * (WIDTH - 16) / (SAMPLES - 1);
+        }
+        probe = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                pulse(now);
+            }
+        };
+    }
+
+    public boolean isShowing() {
+        return canvas.isVisible();
+    }
+
+    /**
+     * Shows or hides the overlay; it only samples frames while it is showing.
+     */
+    public void toggle() {
+        boolean show = !isShowing();
+        canvas.setVisible(show);
+        if (show) {
+            // Hooked up on first use, to keep the management classes out of startup.
+            if (memory == null) {
+                memory = ManagementFactory.getMemoryMXBean();
+                listenToGc();
+            }
+            // A fresh start: the frames of an earlier showing may be minutes old.
+            frame = 0;
+            Arrays.fill(frameNanos, 0);
+            lastPulse = 0;
+            ownNanos = 0;
+            ownFrames = 0;
+            nodeCount = countNodes();
+            probe.start();
+        } else {
+            probe.stop();
+        }
+        GameLog.info("PerformanceOverlay.toggle: Overlay {}", show ? "shown" : "hidden");
+    }
+
+    /**
+     * Moves the overlay on top of {@code root}, the root of the screen that is now showing. Roots
+     * that are not panes cannot take extra children and are left without the overlay.
+     */
+    public void attach(Parent root) {
+        if (canvas.getParent() instanceof Pane previous) {
+            previous.getChildren().remove(canvas);
+        }
+        if (root instanceof Pane pane) {
+            pane.getChildren().add(canvas);
+        }
+        if (isShowing()) {
+            nodeCount = countNodes();
+        }
+    }
+
+    private void pulse(long now) {
+        long start = System.nanoTime();
+        if (lastPulse != 0) {
+            frameNanos[frame % SAMPLES] = now - lastPulse;
+            frame++;
+            if (frame % COUNT_FRAMES == 0) {
+                nodeCount = countNodes();
+            }
+            if (frame % REDRAW_FRAMES == 0) {
+                redraw();
+            }
+        }
+        lastPulse = now;
+        ownNanos += System.nanoTime() - start;
+        ownFrames++;
+    }
+
+    private void redraw() {
+        int samples = Math.min(frame, SAMPLES);
+        long worst = 0;
+        for (int i = 0; i < samples; i++) {
+            worst = Math.max(worst, frameNanos[i]);
+        }
+        long current = frameNanos[(frame - 1) % SAMPLES];
+        long heapUsed = memory.getHeapMemoryUsage().getUsed();
+
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, WIDTH, HEIGHT);
+        gc.setFill(Color.rgb(0, 0, 0, 0.7));
+        gc.fillRoundRect(0, 0, WIDTH, HEIGHT, 10, 10);
+        gc.setFont(FONT);
+        // Built by hand: String.format costs more than the rest of the redraw together.
+        line.setLength(0);
+        appendTenths(line.append("frame "), current / 1e5).append(" ms  ").append(1_000_000_000 / Math.max(1, current)).append(" fps");
+        gc.setFill(current > TARGET_MS * 1_000_000 * 1.5 ? Color.ORANGE : Color.LIGHTGREEN);
+        gc.fillText(line.toString(), 8, 18);
+        line.setLength(0);
+        appendTenths(line.append("worst "), worst / 1e5).append(" ms  nodes ").append(nodeCount);
+        gc.setFill(Color.WHITE);
+        gc.fillText(line.toString(), 8, 36);
+        line.setLength(0);
+        appendTenths(line.append("heap  "), heapUsed / 104857.6).append(" MB  gc ");
+        appendGcPauses(line);
+        gc.fillText(line.toString(), 8, 54);
+        line.setLength(0);
+        appendTenths(line.append("overlay "), ownNanos / 1e2 / Math.max(1, ownFrames)).append(" us/frame");
+        gc.fillText(line.toString(), 8, 72);
+
+        double scale = SPARK_HEIGHT / SPARK_MAX_MS;
+        double bottom = SPARK_TOP + SPARK_HEIGHT;
+        gc.setStroke(Color.GRAY);
+        gc.setLineWidth(1);
+        gc.strokeLine(8, bottom - TARGET_MS * scale, WIDTH - 8, bottom - TARGET_MS * scale);
+        // Oldest sample on the left.
+        int oldest = frame - samples;
+        for (int i = 0; i < samples; i++) {
+            double ms = frameNanos[(oldest + i) % SAMPLES] / 1e6;
+            sparkY[i] = bottom - Math.min(ms, SPARK_MAX_MS) * scale;
+        }
+        gc.setStroke(Color.LIGHTGREEN);
+        gc.strokePolyline(sparkX, sparkY, samples);
+    }
+
+    private synchronized void appendGcPauses(StringBuilder line) {
+        if (gcPauseCount == 0) {
+            line.append("none");
+            return;
+        }
+        for (int i = Math.max(0, gcPauseCount - GC_PAUSES); i < gcPauseCount; i++) {
+            line.append(gcPauseMillis[i % GC_PAUSES]).append(' ');
+        }
+        line.append("ms (").append(gcPauseCount).append(')');
+    }
+
+    // Appends tenths, a value ten times too large, with one decimal.
+    private static StringBuilder appendTenths(StringBuilder line, double tenths) {
+        long rounded = Math.round(tenths);
+        return line.append(rounded / 10).append('.').append(rounded % 10);
+    }
+
+    private synchronized void gcPaused(long millis) {
+        gcPauseMillis[gcPauseCount % GC_PAUSES] = millis;
+        gcPauseCount++;
+    }
+
+    // The notifications are read as plain open data, so the overlay does not need the jdk.management module.
+    private void listenToGc() {
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        for (GarbageCollectorMXBean collector : collectors) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(this::gcNotified, null, null);
+            }
+        }
+    }
+
+    // Concurrent collectors (ZGC, Shenandoah) also report whole cycles, which run next to the
+    // game; their duration is not a pause. G1's concurrent bean reports its remark and cleanup pauses.
+    private void gcNotified(Notification notification, Object handback) {
+        if (!"com.sun.management.gc.notification".equals(notification.getType())
+                || !(notification.getUserData() instanceof CompositeData info)
+                || "end of GC cycle".equals(info.get("gcAction"))
+                || !(info.get("gcInfo") instanceof CompositeData gcInfo)
+                || !(gcInfo.get("duration") instanceof Long duration)) {
+            return;
+        }
+        gcPaused(duration);
+    }
+
+    private int countNodes() {
+        Parent root = canvas.getScene() != null ? canvas.getScene().getRoot() : null;
+        return root == null ? 0 : countNodes(root);
+    }
+
+    private static int countNodes(Node node) {
+        int count = 1;
+        if (node instanceof Parent parent) {
+            List<Node> children = parent.getChildrenUnmodifiable();
+            for (int i = 0; i < children.size(); i++) {
+                count += countNodes(children.get(i));
+            }
+        }
+        return count;
+    }
+}
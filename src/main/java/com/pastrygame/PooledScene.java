@@ -0,0 +1,20 @@
+package com.pastrygame;
+
+import com.pastrygame.engine.GameSession;
+import javafx.scene.Parent;
+
+/**
+ * A screen that {@link SceneManager} builds once and then reuses for every visit.
+ */
+public interface PooledScene {
+    /**
+     * Returns the root node of the screen, always the same instance.
+     */
+    Parent getRoot();
+
+    /**
+     * Restores the screen to its initial state for {@code session}.
+     * Called every time the screen is about to be shown.
+     */
+    void reset(GameSession session);
+}
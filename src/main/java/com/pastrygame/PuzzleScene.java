@@ -1,166 +1,206 @@
 package com.pastrygame;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import com.pastrygame.engine.GameSession;
+import com.pastrygame.engine.PuzzleLevel;
+import com.pastrygame.engine.RecipeCatalog;
+import javafx.application.Platform;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.CacheHint;
+import javafx.scene.Parent;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Pane;
-import javafx.scene.layout.StackPane;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
-import javafx.util.Duration;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Random;
 
-public class PuzzleScene {
+public class PuzzleScene implements PooledScene {
+    static final int IMAGE_SIZE = 300;
+    private static final int TIME_PER_PIECE = 15; // 60 seconds for the 2x2 puzzle
+    private static final double BOARD_X = 20;
+    private static final double BOARD_Y = 20;
+    private static final double BOARD_SIZE = 320;
+    private static final double TRAY_X = 380;
     private SceneManager sceneManager;
-    private String pastryName;
-    private int timeLeft = 60; // 60 seconds
-    private Timeline timer;
-    private List<ImageView> puzzlePieces = new ArrayList<>();
-    private List<StackPane> slots = new ArrayList<>();
-    private int piecesPlacedCorrectly = 0;
-
-    public PuzzleScene(String pastryName, SceneManager sceneManager) {
-        this.pastryName = pastryName;
+    private final Random random = new Random();
+    private final int gridSize;
+    private final double pitch;
+    private final double tileSize;
+    private GameSession session;
+    private PuzzleLevel level;
+    private GameClock.Countdown countdown;
+    private ImageView[] puzzlePieces;
+    private VBox root;
+    private Text title;
+    private Text timerText;
+
+    public PuzzleScene(SceneManager sceneManager) {
         this.sceneManager = sceneManager;
+        this.gridSize = Math.max(PuzzleLevel.MIN_GRID_SIZE, Math.min(PuzzleLevel.MAX_GRID_SIZE,
+                Integer.getInteger("pastry.puzzle.gridSize", PuzzleLevel.MIN_GRID_SIZE)));
+        this.pitch = BOARD_SIZE / gridSize;
+        this.tileSize = pitch - 20.0 / gridSize;
+        createRoot();
     }
 
-    public Scene createScene() {
-        VBox root = new VBox(20);
+    private void createRoot() {
+        root = new VBox(20);
         root.setAlignment(Pos.CENTER);
         root.setStyle("-fx-background-color: #fff0f5;");
 
-        Text title = new Text("Assemble the " + pastryName + " Puzzle (Level 1)");
+        title = new Text();
         title.setFont(Font.font("Georgia", FontWeight.BOLD, 30));
         title.setFill(Color.DARKMAGENTA);
 
-        Text timerText = new Text("Time Left: " + timeLeft + " seconds");
+        timerText = new Text();
         timerText.setFont(Font.font("Verdana", FontWeight.BOLD, 20));
         timerText.setFill(Color.DARKBLUE);
 
-        String imagePath = switch (pastryName) {
-            case "Cupcake" -> "/images/muffin.png";
-            case "Cake" -> "/images/cake.png";
-            case "Donut" -> "/images/donut.png";
-            default -> "/images/muffin.png";
-        };
-        Image pastryImage = loadImage(imagePath, pastryName);
-
         Pane puzzleArea = new Pane();
-        puzzleArea.setPrefSize(400, 400);
-
-        for (int i = 0; i < 2; i++) {
-            for (int j = 0; j < 2; j++) {
-                StackPane slot = new StackPane();
-                slot.setPrefSize(150, 150);
-                slot.setStyle("-fx-border-color: gray; -fx-border-width: 2;");
-                slot.setLayoutX(j * 160 + 80);
-                slot.setLayoutY(i * 160 + 80);
-                slot.getProperties().put("correctPiece", i * 2 + j);
-                slots.add(slot);
-                puzzleArea.getChildren().add(slot);
-            }
+        puzzleArea.setPrefSize(TRAY_X + BOARD_SIZE + BOARD_X, BOARD_Y * 2 + BOARD_SIZE);
+        puzzleArea.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+
+        for (int slot = 0; slot < gridSize * gridSize; slot++) {
+            Rectangle outline = new Rectangle(tileSize, tileSize, Color.TRANSPARENT);
+            outline.setStroke(Color.GRAY);
+            outline.setStrokeWidth(2);
+            outline.setLayoutX(cellX(BOARD_X, slot));
+            outline.setLayoutY(cellY(slot));
+            outline.setMouseTransparent(true);
+            puzzleArea.getChildren().add(outline);
         }
 
-        List<Integer> positions = new ArrayList<>(List.of(0, 1, 2, 3));
-        Collections.shuffle(positions);
-        for (int i = 0; i < 4; i++) {
-            ImageView piece = new ImageView(createPuzzlePiece(pastryImage, i % 2, i / 2));
-            piece.setFitWidth(150);
-            piece.setFitHeight(150);
-            piece.setUserData(i);
-            puzzlePieces.add(piece);
-            piece.setLayoutX(50 + (positions.get(i) % 2) * 500);
-            piece.setLayoutY(50 + (positions.get(i) / 2) * 300);
-            // Drag-and-drop
-            final double[] startPos = {0, 0};
+        puzzlePieces = new ImageView[gridSize * gridSize];
+        for (int i = 0; i < puzzlePieces.length; i++) {
+            ImageView piece = new ImageView();
+            piece.setFitWidth(tileSize);
+            piece.setFitHeight(tileSize);
+            piece.setCache(true);
+            piece.setCacheHint(CacheHint.SPEED);
+            int pieceIndex = i;
+            puzzlePieces[i] = piece;
+            // Dragging only moves the cached piece by its translate; layout changes once, on drop.
+            final double[] anchor = {0, 0};
             piece.setOnMousePressed(e -> {
-                startPos[0] = e.getSceneX() - piece.getLayoutX();
-                startPos[1] = e.getSceneY() - piece.getLayoutY();
+                anchor[0] = e.getSceneX() - piece.getTranslateX();
+                anchor[1] = e.getSceneY() - piece.getTranslateY();
+                piece.setViewOrder(-1);
             });
             piece.setOnMouseDragged(e -> {
-                piece.setLayoutX(e.getSceneX() - startPos[0]);
-                piece.setLayoutY(e.getSceneY() - startPos[1]);
-            });
-            piece.setOnMouseReleased(e -> {
-                for (StackPane slot : slots) {
-                    if (slot.getBoundsInParent().contains(e.getSceneX(), e.getSceneY() - 50)) {
-                        piece.setLayoutX(slot.getLayoutX());
-                        piece.setLayoutY(slot.getLayoutY());
-                        int pieceIndex = (int) piece.getUserData();
-                        int correctIndex = (int) slot.getProperties().get("correctPiece");
-                        if (pieceIndex == correctIndex) {
-                            piecesPlacedCorrectly++;
-                            piece.setDisable(true);
-                            if (piecesPlacedCorrectly == 4) {
-                                timer.stop();
-                                sceneManager.showMemoryMatchScene();
-                            }
-                        }
-                        break;
-                    }
-                }
+                piece.setTranslateX(e.getSceneX() - anchor[0]);
+                piece.setTranslateY(e.getSceneY() - anchor[1]);
             });
+            piece.setOnMouseReleased(e -> dropPiece(piece, pieceIndex));
             puzzleArea.getChildren().add(piece);
         }
 
-        timer = new Timeline(new KeyFrame(Duration.seconds(1), e -> {
-            timeLeft--;
-            timerText.setText("Time Left: " + timeLeft + " seconds");
-            if (timeLeft <= 0) {
-                timer.stop();
+        root.getChildren().addAll(title, timerText, puzzleArea);
+        GameLog.infoNum("PuzzleScene.createRoot: Puzzle Scene created with {} pieces", puzzlePieces.length);
+    }
+
+    private void dropPiece(ImageView piece, int pieceIndex) {
+        double x = piece.getLayoutX() + piece.getTranslateX();
+        double y = piece.getLayoutY() + piece.getTranslateY();
+        piece.setTranslateX(0);
+        piece.setTranslateY(0);
+        piece.setViewOrder(0);
+        int slot = level.slotAt(x + tileSize / 2 - BOARD_X, y + tileSize / 2 - BOARD_Y, BOARD_SIZE);
+        if (slot < 0) {
+            piece.relocate(x, y);
+            return;
+        }
+        PuzzleLevel.Outcome outcome = level.place(pieceIndex, slot);
+        if (outcome == PuzzleLevel.Outcome.IGNORED) {
+            return; // The piece goes back to where the drag started, which its layout still holds.
+        }
+        piece.relocate(cellX(BOARD_X, slot), cellY(slot));
+        SoundEffectMixer.getInstance().play(SoundEffectMixer.Effect.PUZZLE_SNAP);
+        GameEventBus.getInstance().publish(new GameEvent.PiecePlaced(GameSession.PuzzleMode.JIGSAW, pieceIndex, slot));
+        if (outcome == PuzzleLevel.Outcome.LOCKED || outcome == PuzzleLevel.Outcome.SOLVED) {
+            piece.setDisable(true);
+        }
+        if (outcome == PuzzleLevel.Outcome.SOLVED) {
+            countdown.cancel();
+            GameEventBus.getInstance().publish(new GameEvent.LevelComplete(GameEvent.Level.PUZZLE, true, 0));
+            sceneManager.showMemoryMatchScene();
+        }
+    }
+
+    @Override
+    public Parent getRoot() {
+        return root;
+    }
+
+    @Override
+    public void reset(GameSession session) {
+        this.session = session;
+        String pastryName = session.getCurrentPastry();
+        title.setText("Assemble the " + pastryName + " Puzzle (Level 1)");
+        Image pastryImage = loadImage(imagePathFor(pastryName), pastryName);
+
+        level = new PuzzleLevel(gridSize, TIME_PER_PIECE * gridSize * gridSize, random);
+        for (int i = 0; i < puzzlePieces.length; i++) {
+            ImageView piece = puzzlePieces[i];
+            int position = level.getStartPosition(i);
+            piece.setImage(pastryImage);
+            piece.setViewport(tileViewport(pastryImage, gridSize, i));
+            piece.relocate(cellX(TRAY_X, position), cellY(position));
+            piece.setTranslateX(0);
+            piece.setTranslateY(0);
+            piece.setDisable(false);
+        }
+
+        timerText.setText("Time Left: " + level.getTimeLeft() + " seconds");
+        countdown = sceneManager.getClock().countdown(level.getTimeLeft(), timeLeft -> onSecond());
+    }
+
+    private void onSecond() {
+        boolean timedOut = level.tick();
+        timerText.setText("Time Left: " + level.getTimeLeft() + " seconds");
+        if (timedOut) {
+            GameEventBus.getInstance().publish(new GameEvent.LevelComplete(GameEvent.Level.PUZZLE, false, 0));
+            // showAndWait is not allowed while an animation frame is being processed.
+            Platform.runLater(() -> {
                 showAlert("You Lost!");
-                GameState.reset();
+                session.reset();
                 sceneManager.showWelcomeScene();
-            }
-        }));
-        timer.setCycleCount(Timeline.INDEFINITE);
-        timer.play();
+            });
+        }
+    }
 
-        root.getChildren().addAll(title, timerText, puzzleArea);
-        return new Scene(root, 800, 600);
+    static String imagePathFor(String pastryName) {
+        RecipeCatalog recipes = RecipeCatalog.getInstance();
+        int pastry = recipes.pastryId(pastryName);
+        return pastry < 0 ? "/images/muffin.png" : recipes.getPastryImage(pastry);
     }
 
     private Image loadImage(String path, String fallbackText) {
-        try {
-            Image image = new Image(getClass().getResourceAsStream(path));
-            if (image.isError()) {
-                System.err.println("Error loading image: " + path);
-                return createFallbackImage(fallbackText);
-            }
-            return image;
-        } catch (NullPointerException e) {
-            System.err.println("Image not found: " + path);
-            return createFallbackImage(fallbackText);
-        }
+        return ImageAssetCache.getInstance().getImage(path, IMAGE_SIZE, IMAGE_SIZE, true, fallbackText, 20);
+    }
+
+    /**
+     * Returns the part of {@code fullImage} that piece {@code piece} of a {@code gridSize} square
+     * puzzle shows. All pieces share the one image; nothing is copied.
+     */
+    static Rectangle2D tileViewport(Image fullImage, int gridSize, int piece) {
+        double width = fullImage.getWidth() / gridSize;
+        double height = fullImage.getHeight() / gridSize;
+        return new Rectangle2D(piece % gridSize * width, piece / gridSize * height, width, height);
     }
 
-    private Image createFallbackImage(String text) {
-        Text fallbackText = new Text(text);
-        fallbackText.setFont(Font.font("Arial", FontWeight.BOLD, 20));
-        fallbackText.setFill(Color.BLACK);
-        StackPane stackPane = new StackPane(fallbackText);
-        stackPane.setStyle("-fx-background-color: lightgray; -fx-border-color: black; -fx-border-width: 1;");
-        stackPane.setPrefSize(150, 150);
-        return stackPane.snapshot(null, null);
+    private double cellX(double originX, int cell) {
+        return originX + cell % gridSize * pitch + (pitch - tileSize) / 2;
     }
 
-    private Image createPuzzlePiece(Image fullImage, int x, int y) {
-        int pieceWidth = (int) (fullImage.getWidth() / 2);
-        int pieceHeight = (int) (fullImage.getHeight() / 2);
-        WritableImage piece = new WritableImage(pieceWidth, pieceHeight);
-        piece.getPixelWriter().setPixels(0, 0, pieceWidth, pieceHeight,
-                fullImage.getPixelReader(), x * pieceWidth, y * pieceHeight);
-        return piece;
+    private double cellY(int cell) {
+        return BOARD_Y + cell / gridSize * pitch + (pitch - tileSize) / 2;
     }
 
     private void showAlert(String message) {
@@ -168,7 +208,4 @@ public class PuzzleScene {
         alert.setContentText(message);
         alert.showAndWait();
     }
-
-
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,115 @@
+package com.pastrygame;
+
+import com.pastrygame.engine.GameSession;
+import com.pastrygame.engine.RecipeCatalog;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+import java.util.List;
+
+public class RecipeScene implements PooledScene {
+    private static final int COUNTDOWN_SECONDS = 10;
+
+    private final SceneManager sceneManager;
+    private final StackPane root;
+    private final Text pastryName;
+    private final Text timerText;
+    private final Text recipeDetailsText;
+    private final Button musicButton;
+    private GameSession session;
+
+    public RecipeScene(SceneManager sceneManager) {
+        this.sceneManager = sceneManager;
+        VBox recipeLayout = new VBox(15);
+        recipeLayout.setAlignment(Pos.CENTER);
+        recipeLayout.setPadding(new Insets(10, 20, 20, 20));
+        recipeLayout.setStyle("-fx-background-color: #fff0f5;");
+
+        Text recipeTitle = new Text("Recipe");
+        recipeTitle.setFont(Font.font("Georgia", FontWeight.BOLD, 40));
+        recipeTitle.setFill(Color.DARKMAGENTA);
+
+        pastryName = new Text();
+        pastryName.setFont(Font.font("Georgia", FontWeight.BOLD, 32));
+        pastryName.setFill(Color.DARKMAGENTA);
+
+        timerText = new Text();
+        timerText.setFont(Font.font("Verdana", FontWeight.BOLD, 20));
+        timerText.setFill(Color.DARKBLUE);
+
+        recipeDetailsText = new Text();
+        recipeDetailsText.setFont(Font.font("Gabriola", FontWeight.NORMAL, 28));
+        recipeDetailsText.setFill(Color.DARKSLATEBLUE);
+
+        Button backButton = new Button("Back to Menu");
+        backButton.setStyle("-fx-background-color: #ffb6c1; -fx-text-fill: white; -fx-padding: 10; -fx-font-size: 16;");
+        backButton.setOnAction(e -> {
+            GameLog.info("RecipeScene: Back to Menu clicked");
+            Main.stopBackgroundMusic();
+            sceneManager.showWelcomeScene();
+        });
+
+        musicButton = Main.createMusicButton("RecipeScene", "#ffb6d9");
+
+        recipeLayout.getChildren().addAll(recipeTitle, pastryName, timerText, recipeDetailsText, backButton);
+        root = new StackPane();
+        root.getChildren().add(recipeLayout);
+        StackPane.setAlignment(musicButton, Pos.TOP_LEFT);
+        StackPane.setMargin(musicButton, new Insets(30));
+        root.getChildren().add(musicButton);
+        GameLog.info("RecipeScene.constructor: Recipe Scene created");
+    }
+
+    @Override
+    public Parent getRoot() {
+        return root;
+    }
+
+    @Override
+    public void reset(GameSession session) {
+        this.session = session;
+        String selectedPastry = session.getCurrentPastry();
+        GameLog.info("RecipeScene.reset: Showing recipe for {}", selectedPastry);
+        AssetPrefetcher.getInstance().prefetch(selectedPastry);
+        pastryName.setText(selectedPastry);
+
+        RecipeCatalog recipes = RecipeCatalog.getInstance();
+        int pastry = recipes.pastryId(selectedPastry);
+        StringBuilder recipeDetails = new StringBuilder();
+        if (pastry < 0) {
+            recipeDetails.append("Recipe not found");
+            session.setCorrectIngredients(List.of());
+        } else {
+            for (int entry = 0; entry < recipes.getRecipeSize(pastry); entry++) {
+                if (entry > 0) {
+                    recipeDetails.append('\n');
+                }
+                recipeDetails.append(recipes.getIngredientName(recipes.getRecipeIngredient(pastry, entry)))
+                        .append(' ').append(recipes.getRecipeQuantity(pastry, entry))
+                        .append(' ').append(recipes.getRecipeUnit(pastry, entry));
+            }
+            session.setCorrectIngredients(recipes.getRecipeIngredientNames(pastry));
+        }
+        recipeDetailsText.setText(recipeDetails.toString());
+
+        timerText.setText("Time Left: " + COUNTDOWN_SECONDS + " seconds");
+        Main.refreshMusicButton(musicButton);
+        sceneManager.getClock().countdown(COUNTDOWN_SECONDS, this::onSecond);
+    }
+
+    private void onSecond(int timeLeft) {
+        timerText.setText("Time Left: " + timeLeft + " seconds");
+        if (timeLeft == 0) {
+            GameLog.info("RecipeScene: Timer finished, switching to Ingredient Scene");
+            sceneManager.showIngredientScene(session.getCurrentPastry());
+        }
+    }
+}
@@ -1,246 +1,300 @@
 package com.pastrygame;
 
+import com.pastrygame.engine.GameSession;
 import javafx.animation.AnimationTimer;
-import javafx.geometry.Pos;
 import javafx.scene.Scene;
-import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.control.Button;
-import javafx.scene.control.Label;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.StackPane;
-import javafx.scene.layout.VBox;
-import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
-import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
+
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.function.ObjLongConsumer;
 
 public class SceneManager {
+    private static final KeyCode PERFORMANCE_OVERLAY_KEY = KeyCode.F3;
     private static SceneManager instance;
     private Stage stage;
     private SoundManager soundManager;
+    private Scene scene;
+    private final AnimationRegistry animations = new AnimationRegistry();
+    private final GameClock clock = new GameClock();
+    private final Metrics metrics = Metrics.getInstance();
+    private final PerformanceOverlay performanceOverlay = new PerformanceOverlay();
+    private final GameSession session = new GameSession();
+    private final List<ObjLongConsumer<PooledScene>> transitionListeners = new ArrayList<>();
+
+    private WelcomeScene welcomeScene;
+    private SelectionScene selectionScene;
+    private RecipeScene recipeScene;
+    private IngredientScene ingredientScene;
+    private PuzzleScene puzzleScene;
+    private SlidingPuzzleScene slidingPuzzleScene;
+    private MemoryMatchScene memoryMatchScene;
+    private HangmanScene hangmanScene;
+    private GameOverScene gameOverScene;
+    private WinScene winScene;
 
     private SceneManager(Stage stage) {
         this.stage = stage;
         this.soundManager = SoundManager.getInstance();
-        System.out.println("SceneManager.getInstance: Initialized with stage and SoundManager");
+        this.scene = new Scene(new StackPane(), 800, 600);
+        stage.setScene(scene);
+        // Countdowns stand still while the window is minimized.
+        stage.iconifiedProperty().addListener((obs, wasIconified, isIconified) -> {
+            if (isIconified) {
+                clock.pause();
+            } else {
+                clock.resume();
+            }
+        });
+        double timeScale = Double.parseDouble(System.getProperty("pastry.timeScale", "1"));
+        if (timeScale != 1) {
+            setTimeScale(timeScale);
+        }
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, e -> {
+            if (e.getCode() == PERFORMANCE_OVERLAY_KEY) {
+                togglePerformanceOverlay();
+                e.consume();
+            }
+        });
+        if (Boolean.getBoolean("pastry.perfOverlay")) {
+            togglePerformanceOverlay();
+        }
+        metrics.gauge("session.score", session::getScore);
+        metrics.gauge("session.mistakes", session::getMistakes);
+        metrics.gauge("session.level", session::getCurrentLevel);
+        metrics.gauge("animations.active", this::getActiveAnimationCount);
+        GameEventBus events = GameEventBus.getInstance();
+        LevelMetrics.subscribe(events);
+        EventJournal.subscribeIfRequested(events);
+        GameLog.info("SceneManager.getInstance: Initialized with stage and SoundManager");
     }
 
     public static SceneManager getInstance(Stage stage) {
         if (instance == null) {
             instance = new SceneManager(stage);
-            System.out.println("SceneManager.getInstance: Initialized with stage");
+            GameLog.info("SceneManager.getInstance: Initialized with stage");
         }
         return instance;
     }
 
     public void showWelcomeScene() {
-        System.out.println("SceneManager.showWelcomeScene: Switching to Welcome Scene");
+        GameLog.info("SceneManager.showWelcomeScene: Switching to Welcome Scene");
+        long start = System.nanoTime();
         soundManager.stopWinMusic(); // Ensure win music is stopped
-        Main main = new Main();
-        main.start(stage);
+        if (welcomeScene == null) {
+            welcomeScene = new WelcomeScene(this);
+        }
+        show(welcomeScene, start);
     }
 
     public void showSelectionScene() {
-        System.out.println("SceneManager.showSelectionScene: Switching to Selection Scene");
-        Main main = new Main();
-        main.showSelectionScreen(stage, this);
+        GameLog.info("SceneManager.showSelectionScene: Switching to Selection Scene");
+        long start = System.nanoTime();
+        if (selectionScene == null) {
+            selectionScene = new SelectionScene(this);
+        }
+        show(selectionScene, start);
     }
 
     public void showRecipeScene(String pastry) {
-        System.out.println("SceneManager.showRecipeScene: Switching to Recipe Scene for " + pastry);
-        Main main = new Main();
-        main.showRecipeScreen(stage, pastry, this);
+        GameLog.info("SceneManager.showRecipeScene: Switching to Recipe Scene for {}", pastry);
+        long start = System.nanoTime();
+        session.setCurrentPastry(pastry);
+        if (recipeScene == null) {
+            recipeScene = new RecipeScene(this);
+        }
+        show(recipeScene, start);
     }
 
     public void showIngredientScene(String pastry) {
-        System.out.println("SceneManager.showIngredientScene: Switching to Ingredient Scene for " + pastry);
-        IngredientScene ingredientScene = new IngredientScene(pastry, this);
-        Scene scene = ingredientScene.createScene();
-        stage.setScene(scene);
-        stage.show();
-        System.out.println("SceneManager.showIngredientScene: Ingredient Scene displayed");
+        GameLog.info("SceneManager.showIngredientScene: Switching to Ingredient Scene for {}", pastry);
+        long start = System.nanoTime();
+        if (ingredientScene == null) {
+            ingredientScene = new IngredientScene(this);
+        }
+        show(ingredientScene, start);
+        reportFirstFrame("Ingredient Scene", start);
+        GameLog.info("SceneManager.showIngredientScene: Ingredient Scene displayed");
     }
 
     public void showPuzzleScene() {
-        System.out.println("SceneManager.showPuzzleScene: Switching to Puzzle Scene");
-        PuzzleScene puzzleScene = new PuzzleScene(GameState.currentPastry, this);
-        Scene scene = puzzleScene.createScene();
-        if (scene == null) {
-            System.err.println("SceneManager.showPuzzleScene: Error: Puzzle Scene is null");
-            showGameOverScene();
-            return;
+        GameLog.info("SceneManager.showPuzzleScene: Switching to Puzzle Scene");
+        long start = System.nanoTime();
+        AssetPrefetcher.getInstance().awaitPuzzleAssets(session.getCurrentPastry());
+        if (session.getPuzzleMode() == GameSession.PuzzleMode.SLIDING) {
+            if (slidingPuzzleScene == null) {
+                slidingPuzzleScene = new SlidingPuzzleScene(this);
+            }
+            show(slidingPuzzleScene, start);
+        } else {
+            if (puzzleScene == null) {
+                puzzleScene = new PuzzleScene(this);
+            }
+            show(puzzleScene, start);
         }
-        stage.setScene(scene);
-        stage.show();
-        GameState.currentLevel = 1;
-        System.out.println("SceneManager.showPuzzleScene: Puzzle Scene displayed");
+        reportFirstFrame("Puzzle Scene", start);
+        session.setCurrentLevel(1);
+        GameLog.info("SceneManager.showPuzzleScene: Puzzle Scene displayed");
     }
 
     public void showMemoryMatchScene() {
-        System.out.println("SceneManager.showMemoryMatchScene: Switching to Memory Match Scene");
-        MemoryMatchScene memoryScene = new MemoryMatchScene(this);
-        Scene scene = memoryScene.createScene();
-        if (scene == null) {
-            System.err.println("SceneManager.showMemoryMatchScene: Error: Memory Match Scene is null");
-            showGameOverScene();
-            return;
+        GameLog.info("SceneManager.showMemoryMatchScene: Switching to Memory Match Scene");
+        long start = System.nanoTime();
+        if (memoryMatchScene == null) {
+            memoryMatchScene = new MemoryMatchScene(this);
         }
-        stage.setScene(scene);
-        stage.show();
-        GameState.currentLevel = 2;
-        System.out.println("SceneManager.showMemoryMatchScene: Memory Match Scene displayed");
+        show(memoryMatchScene, start);
+        reportFirstFrame("Memory Match Scene", start);
+        session.setCurrentLevel(2);
+        GameLog.info("SceneManager.showMemoryMatchScene: Memory Match Scene displayed");
     }
 
     public void showHangmanScene() {
-        System.out.println("SceneManager.showHangmanScene: Switching to Hangman Scene");
-        HangmanScene hangmanScene = new HangmanScene(this);
-        Scene scene = hangmanScene.createScene();
-        if (scene == null) {
-            System.err.println("SceneManager.showHangmanScene: Error: Hangman Scene is null");
-            showGameOverScene();
-            return;
+        GameLog.info("SceneManager.showHangmanScene: Switching to Hangman Scene");
+        long start = System.nanoTime();
+        if (hangmanScene == null) {
+            hangmanScene = new HangmanScene(this);
         }
-        stage.setScene(scene);
-        stage.show();
-        GameState.currentLevel = 3;
-        System.out.println("SceneManager.showHangmanScene: Hangman Scene displayed");
+        show(hangmanScene, start);
+        session.setCurrentLevel(3);
+        GameLog.info("SceneManager.showHangmanScene: Hangman Scene displayed");
     }
 
     public void showGameOverScene() {
-        System.out.println("SceneManager.showGameOverScene: Switching to Game Over Scene");
+        GameLog.info("SceneManager.showGameOverScene: Switching to Game Over Scene");
+        long start = System.nanoTime();
         soundManager.stopWinMusic(); // Ensure win music is stopped
-        Label label = new Label("Game Over! Mistakes: " + GameState.mistakes);
-        label.setFont(Font.font("Verdana", FontWeight.BOLD, 28));
-        label.setTextFill(Color.DARKMAGENTA);
-        Button restartButton = new Button("Restart");
-        restartButton.setStyle("-fx-background-color: #ffb6c1; -fx-text-fill: white; -fx-padding: 10; -fx-font-size: 16;");
-        restartButton.setOnAction(e -> restartGame());
-        VBox layout = new VBox(20, label, restartButton);
-        layout.setAlignment(Pos.CENTER);
-        layout.setStyle("-fx-background-color: #fff0f5;");
-        Scene scene = new Scene(layout, 800, 600);
-        stage.setScene(scene);
-        stage.show();
-        System.out.println("SceneManager.showGameOverScene: Game Over Scene displayed");
+        if (gameOverScene == null) {
+            gameOverScene = new GameOverScene(this);
+        }
+        show(gameOverScene, start);
+        GameLog.info("SceneManager.showGameOverScene: Game Over Scene displayed");
     }
 
     public void showWinScene() {
-        System.out.println("SceneManager.showWinScene: Switching to Win Scene");
+        GameLog.info("SceneManager.showWinScene: Switching to Win Scene");
+        long start = System.nanoTime();
         soundManager.stopBackgroundMusic(); // Stop background music
         soundManager.playWinMusic(); // Play win music
+        if (winScene == null) {
+            winScene = new WinScene(this);
+        }
+        show(winScene, start);
+        GameLog.info("SceneManager.showWinScene: Win Scene displayed with fireworks and win music");
+    }
 
-        Label label = new Label("Game Over, You Are Winner!");
-        label.setFont(Font.font("Verdana", FontWeight.BOLD, 28));
-        label.setTextFill(Color.YELLOW);
+    public void restartGame() {
+        GameLog.info("SceneManager.restartGame: Restarting game");
+        GameLog.info("SceneManager.restartGame: Metrics of the finished game: {}", metrics.getStats());
+        GameLog.info("SceneManager.restartGame: Game events: {}", GameEventBus.getInstance().getStats());
+        soundManager.stopWinMusic(); // Stop win music
+        session.reset();
+        showWelcomeScene();
+    }
 
-        Button restartButton = new Button("Play Again");
-        restartButton.setStyle("-fx-background-color: #ffb6c1; -fx-text-fill: white; -fx-padding: 10; -fx-font-size: 16;");
-        restartButton.setOnAction(e -> {
-            System.out.println("SceneManager.showWinScene: Play Again button clicked");
-            soundManager.stopWinMusic(); // Stop win music on restart
-            restartGame();
-        });
+    /**
+     * Starts {@code timer} as part of the current screen; it is stopped on the next transition.
+     */
+    public void start(AnimationTimer timer) {
+        animations.start(timer);
+    }
 
-        Canvas canvas = new Canvas(800, 600);
-        GraphicsContext gc = canvas.getGraphicsContext2D();
-        List<FireworkParticle> particles = new ArrayList<>();
-        Random random = new Random();
+    public void stop(AnimationTimer timer) {
+        animations.stop(timer);
+    }
 
-        System.out.println("SceneManager.showWinScene: Initializing canvas with size 800x600");
+    /**
+     * Runs the countdowns and delays of every screen {@code timeScale} times as fast, e.g. to skip
+     * through the recipe countdown in an automated playthrough. Can also be set at startup with
+     * {@code -Dpastry.timeScale}.
+     */
+    public void setTimeScale(double timeScale) {
+        clock.setTimeScale(timeScale);
+        GameLog.info("SceneManager.setTimeScale: Countdowns and delays run at {}x", timeScale);
+    }
 
-        AnimationTimer fireworksTimer = new AnimationTimer() {
-            private long lastUpdate = 0;
-            private long lastFirework = 0;
-            private int particleCount = 0;
+    /**
+     * Returns the clock the countdowns and delays of the current screen run on. Everything
+     * registered with it is cancelled on the next transition.
+     */
+    public GameClock getClock() {
+        return clock;
+    }
 
-            @Override
-            public void handle(long now) {
-                if (now - lastUpdate >= 16_666_666) { // ~60 FPS
-                    gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
-                    gc.setFill(Color.BLACK);
-                    gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
-
-                    if (now - lastFirework >= 300_000_000) { // Every 0.3 seconds
-                        double x = random.nextDouble() * 600 + 100;
-                        double y = random.nextDouble() * 300 + 150;
-                        for (int i = 0; i < 100; i++) {
-                            double angle = random.nextDouble() * 2 * Math.PI;
-                            double speed = random.nextDouble() * 5 + 3;
-                            Color color = switch (random.nextInt(5)) {
-                                case 0 -> Color.RED;
-                                case 1 -> Color.YELLOW;
-                                case 2 -> Color.BLUE;
-                                case 3 -> Color.GREEN;
-                                case 4 -> Color.MAGENTA;
-                                default -> Color.WHITE;
-                            };
-                            particles.add(new FireworkParticle(x, y, speed * Math.cos(angle), speed * Math.sin(angle), color));
-                            particleCount++;
-                        }
-                        System.out.println("SceneManager.showWinScene: Spawned fireworks at (" + x + ", " + y + "), total particles: " + particleCount);
-                        lastFirework = now;
-                    }
-
-                    particles.removeIf(p -> !p.update());
-                    for (FireworkParticle p : particles) {
-                        p.draw(gc);
-                    }
-                    System.out.println("SceneManager.showWinScene: Drawing " + particles.size() + " particles");
-                    lastUpdate = now;
-                }
-            }
-        };
-        fireworksTimer.start();
-        System.out.println("SceneManager.showWinScene: Fireworks timer started");
+    /**
+     * Calls {@code listener} on the FX thread after every transition with the screen that is now
+     * showing and the nanoseconds the swap took.
+     */
+    public void addTransitionListener(ObjLongConsumer<PooledScene> listener) {
+        transitionListeners.add(listener);
+    }
 
-        VBox layout = new VBox(20, label, restartButton);
-        layout.setAlignment(Pos.CENTER);
-        layout.setStyle("-fx-background-color: transparent;");
+    /**
+     * Shows or hides the performance overlay on top of every screen. Bound to F3, and shown from
+     * the start with {@code -Dpastry.perfOverlay=true}.
+     */
+    public void togglePerformanceOverlay() {
+        performanceOverlay.toggle();
+    }
 
-        StackPane root = new StackPane(canvas, layout);
-        Scene scene = new Scene(root, 800, 600);
-        stage.setScene(scene);
-        stage.show();
-        System.out.println("SceneManager.showWinScene: Win Scene displayed with fireworks and win music");
+    public Scene getScene() {
+        return scene;
     }
 
-    public void restartGame() {
-        System.out.println("SceneManager.restartGame: Restarting game");
-        soundManager.stopWinMusic(); // Stop win music
-        GameState.reset();
-        showWelcomeScene();
+    /**
+     * Returns the session of the player this scene manager shows the game to.
+     */
+    public GameSession getSession() {
+        return session;
     }
 
-    private static class FireworkParticle {
-        private double x, y;
-        private double vx, vy;
-        private Color color;
-        private double life;
+    /**
+     * Returns the number of animation loops running: the timers of the current screen, and the
+     * game clock's pulse while a countdown or delay is waiting.
+     * Published as the gauge {@code animations.active}.
+     */
+    public int getActiveAnimationCount() {
+        return animations.getActiveCount() + (clock.isRunning() ? 1 : 0);
+    }
 
-        public FireworkParticle(double x, double y, double vx, double vy, Color color) {
-            this.x = x;
-            this.y = y;
-            this.vx = vx;
-            this.vy = vy;
-            this.color = color;
-            this.life = 1.0;
+    // Every screen is built once; a transition only resets the pooled screen and swaps the root of the single scene.
+    // The time from requestedAt, when the show* method was entered, is kept per screen in the metrics.
+    private void show(PooledScene pooledScene, long requestedAt) {
+        long start = System.nanoTime();
+        int stopped = animations.stopAll();
+        int cancelled = clock.cancelAll();
+        if (stopped > 0 || cancelled > 0) {
+            GameLog.infoNum("SceneManager.show: Stopped {} animations and {} countdowns of the previous screen", stopped,
+                    cancelled);
         }
-
-        public boolean update() {
-            x += vx;
-            y += vy;
-            vy += 0.03; // Gravity
-            life -= 0.015; // Slower fade-out
-            return life > 0 && x >= 0 && x <= 800 && y >= 0 && y <= 600;
+        pooledScene.reset(session);
+        scene.setRoot(pooledScene.getRoot());
+        performanceOverlay.attach(pooledScene.getRoot());
+        if (!stage.isShowing()) {
+            stage.show();
         }
-
-        public void draw(GraphicsContext gc) {
-            gc.setFill(color.deriveColor(0, 1, 1, life));
-            gc.fillOval(x, y, 6, 6);
+        long swapNanos = System.nanoTime() - start;
+        String screen = pooledScene.getClass().getSimpleName();
+        metrics.histogram("scene." + screen + ".show").recordSince(requestedAt);
+        metrics.counter("scene.transitions").increment();
+        GameLog.infoNum("SceneManager.show: Swapped to {} in {} us", screen, swapNanos / 1_000);
+        for (ObjLongConsumer<PooledScene> listener : transitionListeners) {
+            listener.accept(pooledScene, swapNanos);
         }
     }
 
+    private void reportFirstFrame(String sceneName, long startNanos) {
+        start(new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                SceneManager.this.stop(this);
+                metrics.histogram("scene." + sceneName.replace(" ", "") + ".firstFrame").recordSince(startNanos);
+                GameLog.info("SceneManager.reportFirstFrame: {} time to first frame: {} us ({})", sceneName,
+                        (System.nanoTime() - startNanos) / 1_000, ImageAssetCache.getInstance().getStats());
+            }
+        });
+    }
 }
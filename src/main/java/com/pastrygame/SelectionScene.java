@@ -0,0 +1,105 @@
+package com.pastrygame;
+
+import com.pastrygame.engine.GameSession;
+import com.pastrygame.engine.RecipeCatalog;
+import com.pastrygame.engine.WordDictionary;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+public class SelectionScene implements PooledScene {
+    private final StackPane root;
+    private final Button musicButton;
+    private final ChoiceBox<WordDictionary.Difficulty> difficultyChoice;
+    private final ChoiceBox<GameSession.PuzzleMode> puzzleModeChoice;
+    private GameSession session;
+
+    public SelectionScene(SceneManager sceneManager) {
+        GameLog.info("SelectionScene.constructor: Initializing Selection Scene");
+
+        Text chooseText = new Text("What would you like to bake?");
+        chooseText.setFont(Font.font("Verdana", FontWeight.BOLD, 28));
+        chooseText.setFill(Color.DARKMAGENTA);
+
+        RecipeCatalog recipes = RecipeCatalog.getInstance();
+        FlowPane imageBox = new FlowPane(30, 30);
+        imageBox.setAlignment(Pos.CENTER);
+        for (int pastry = 0; pastry < recipes.getPastryCount(); pastry++) {
+            imageBox.getChildren().add(createPastryImage(recipes.getPastryImage(pastry), recipes.getPastryName(pastry), sceneManager));
+        }
+
+        Label difficultyLabel = new Label("Word difficulty:");
+        difficultyLabel.setFont(Font.font("Verdana", FontWeight.BOLD, 16));
+        difficultyLabel.setTextFill(Color.DARKBLUE);
+        difficultyChoice = new ChoiceBox<>();
+        difficultyChoice.getItems().setAll(WordDictionary.Difficulty.values());
+        difficultyChoice.setOnAction(e -> {
+            if (session != null && difficultyChoice.getValue() != null) {
+                session.setDifficulty(difficultyChoice.getValue());
+                GameLog.info("SelectionScene: Difficulty set to {}", difficultyChoice.getValue());
+            }
+        });
+        Label puzzleModeLabel = new Label("Puzzle:");
+        puzzleModeLabel.setFont(Font.font("Verdana", FontWeight.BOLD, 16));
+        puzzleModeLabel.setTextFill(Color.DARKBLUE);
+        puzzleModeChoice = new ChoiceBox<>();
+        puzzleModeChoice.getItems().setAll(GameSession.PuzzleMode.values());
+        puzzleModeChoice.setOnAction(e -> {
+            if (session != null && puzzleModeChoice.getValue() != null) {
+                session.setPuzzleMode(puzzleModeChoice.getValue());
+                GameLog.info("SelectionScene: Puzzle mode set to {}", puzzleModeChoice.getValue());
+            }
+        });
+        HBox difficultyBox = new HBox(10, difficultyLabel, difficultyChoice, puzzleModeLabel, puzzleModeChoice);
+        difficultyBox.setAlignment(Pos.CENTER);
+
+        VBox selectionLayout = new VBox(76, chooseText, imageBox, difficultyBox);
+        selectionLayout.setAlignment(Pos.CENTER);
+        selectionLayout.setStyle("-fx-background-color: #fff0f5;");
+
+        musicButton = Main.createMusicButton("SelectionScene", "#ffb6d9");
+
+        root = new StackPane();
+        root.getChildren().add(selectionLayout);
+        StackPane.setAlignment(musicButton, Pos.TOP_LEFT);
+        StackPane.setMargin(musicButton, new Insets(30));
+        root.getChildren().add(musicButton);
+        GameLog.info("SelectionScene.constructor: Selection Scene created");
+    }
+
+    private ImageView createPastryImage(String path, String pastry, SceneManager sceneManager) {
+        ImageView imageView = new ImageView(ImageAssetCache.getInstance().getImage(path, 180, 180, true, pastry, 20));
+        imageView.setFitWidth(180);
+        imageView.setFitHeight(180);
+        imageView.setOnMouseClicked(e -> {
+            GameLog.info("SelectionScene: Selected {}", pastry);
+            sceneManager.showRecipeScene(pastry);
+        });
+        return imageView;
+    }
+
+    @Override
+    public Parent getRoot() {
+        return root;
+    }
+
+    @Override
+    public void reset(GameSession session) {
+        this.session = session;
+        difficultyChoice.setValue(session.getDifficulty());
+        puzzleModeChoice.setValue(session.getPuzzleMode());
+        Main.refreshMusicButton(musicButton);
+    }
+}
@@ -0,0 +1,246 @@
+package com.pastrygame;
+
+import com.pastrygame.engine.GameSession;
+import com.pastrygame.engine.SlidingPuzzle;
+import com.pastrygame.engine.SlidingPuzzleSolver;
+import javafx.application.Platform;
+import javafx.geometry.Pos;
+import javafx.scene.CacheHint;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The sliding-tile variant of level 1: the pastry picture cut into a 3×3 to 5×5 board with one
+ * tile missing. The board grows with the chosen difficulty. Hints are searched for by
+ * {@link SlidingPuzzleSolver} on a background thread, and a search still running when the
+ * player moves a tile is cancelled.
+ */
+public class SlidingPuzzleScene implements PooledScene {
+    private static final double BOARD_SIZE = 360;
+    private static final double GAP = 4;
+    private static final long HINT_BUDGET_MS = 100;
+    private static final DropShadow HINT_GLOW = new DropShadow(25, Color.GOLD);
+
+    private final SceneManager sceneManager;
+    private final Random random = new Random();
+    private final ExecutorService solver;
+    private final ImageView[] tiles = new ImageView[SlidingPuzzle.MAX_SIZE * SlidingPuzzle.MAX_SIZE - 1];
+    private SlidingPuzzle puzzle;
+    private double pitch;
+    private VBox root;
+    private Text title;
+    private Text movesText;
+    private Text hintText;
+    private Button hintButton;
+    private Future<?> pendingHint;
+    // Bumped whenever the board changes, so a hint for an older board is dropped.
+    private int hintRequest;
+    private int[] hintPath;
+    private int hintIndex;
+    private boolean hintOptimal;
+
+    public SlidingPuzzleScene(SceneManager sceneManager) {
+        this.sceneManager = sceneManager;
+        this.solver = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "puzzle-solver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        createRoot();
+    }
+
+    private void createRoot() {
+        root = new VBox(16);
+        root.setAlignment(Pos.CENTER);
+        root.setStyle("-fx-background-color: #fff0f5;");
+
+        title = new Text();
+        title.setFont(Font.font("Georgia", FontWeight.BOLD, 30));
+        title.setFill(Color.DARKMAGENTA);
+
+        movesText = new Text();
+        movesText.setFont(Font.font("Verdana", FontWeight.BOLD, 20));
+        movesText.setFill(Color.DARKBLUE);
+
+        Pane board = new Pane();
+        board.setPrefSize(BOARD_SIZE, BOARD_SIZE);
+        board.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        board.setStyle("-fx-background-color: #e6cfe0;");
+        for (int i = 0; i < tiles.length; i++) {
+            ImageView tile = new ImageView();
+            tile.setCache(true);
+            tile.setCacheHint(CacheHint.SPEED);
+            int tileNumber = i + 1;
+            tile.setOnMouseClicked(e -> slide(tileNumber));
+            tiles[i] = tile;
+            board.getChildren().add(tile);
+        }
+
+        hintButton = new Button("Hint");
+        hintButton.setFont(Font.font("Verdana", FontWeight.BOLD, 16));
+        hintButton.setStyle("-fx-background-color: #ffb6d9; -fx-text-fill: white;");
+        hintButton.setOnAction(e -> requestHint());
+        hintText = new Text();
+        hintText.setFont(Font.font("Verdana", 16));
+        hintText.setFill(Color.DARKBLUE);
+        HBox hintBox = new HBox(15, hintButton, hintText);
+        hintBox.setAlignment(Pos.CENTER);
+
+        root.getChildren().addAll(title, movesText, board, hintBox);
+        GameLog.infoNum("SlidingPuzzleScene.createRoot: Sliding Puzzle Scene created with {} tiles", tiles.length);
+    }
+
+    private void slide(int tile) {
+        if (!puzzle.slide(puzzle.getCell(tile))) {
+            return;
+        }
+        placeTile(tile);
+        GameEventBus.getInstance().publish(new GameEvent.PiecePlaced(GameSession.PuzzleMode.SLIDING, tile, puzzle.getCell(tile)));
+        SoundEffectMixer.getInstance().play(SoundEffectMixer.Effect.PUZZLE_SNAP);
+        movesText.setText("Moves: " + puzzle.getMoveCount());
+        boolean onHintPath = hintPath != null && hintIndex < hintPath.length && hintPath[hintIndex] == tile;
+        clearHint();
+        if (onHintPath) {
+            hintIndex++;
+        } else {
+            hintPath = null;
+        }
+        if (puzzle.isSolved()) {
+            GameLog.infoNum("SlidingPuzzleScene.slide: Solved in {} moves", puzzle.getMoveCount());
+            GameEventBus.getInstance().publish(new GameEvent.LevelComplete(GameEvent.Level.SLIDING_PUZZLE, true,
+                    puzzle.getMoveCount()));
+            sceneManager.showMemoryMatchScene();
+        }
+    }
+
+    private void requestHint() {
+        if (hintPath != null && hintIndex < hintPath.length) {
+            showHint();
+            return;
+        }
+        int request = hintRequest;
+        byte[] board = puzzle.copyTiles();
+        int size = puzzle.getSize();
+        long start = System.nanoTime();
+        hintButton.setDisable(true);
+        hintText.setText("Thinking...");
+        pendingHint = solver.submit(() -> {
+            try {
+                SlidingPuzzleSolver.Solution solution =
+                        SlidingPuzzleSolver.solve(board, size, TimeUnit.MILLISECONDS.toNanos(HINT_BUDGET_MS));
+                if (solution != null) {
+                    Platform.runLater(() -> hintReady(request, solution, start));
+                }
+            } catch (RuntimeException | StackOverflowError e) { // The search recurses once per move.
+                Platform.runLater(() -> hintFailed(request, e));
+            }
+        });
+    }
+
+    private void hintReady(int request, SlidingPuzzleSolver.Solution solution, long startNanos) {
+        if (request != hintRequest) {
+            return;
+        }
+        GameLog.infoNum("SlidingPuzzleScene.hintReady: {} moves found in {} us", solution.tiles().length,
+                (System.nanoTime() - startNanos) / 1_000);
+        pendingHint = null;
+        Metrics.getInstance().histogram("level.slidingPuzzle.hint").recordSince(startNanos);
+        hintButton.setDisable(false);
+        hintPath = solution.tiles();
+        hintIndex = 0;
+        hintOptimal = solution.optimal();
+        showHint();
+    }
+
+    private void hintFailed(int request, Throwable failure) {
+        if (request != hintRequest) {
+            return;
+        }
+        GameLog.error("SlidingPuzzleScene.hintFailed: Hint search failed: {}", failure.toString());
+        pendingHint = null;
+        hintButton.setDisable(false);
+        hintText.setText("");
+    }
+
+    private void showHint() {
+        if (hintIndex == hintPath.length) {
+            hintText.setText("");
+            return;
+        }
+        tiles[hintPath[hintIndex] - 1].setEffect(HINT_GLOW);
+        int movesLeft = hintPath.length - hintIndex;
+        hintText.setText("Slide the glowing tile (" + (hintOptimal ? "" : "about ") + movesLeft + " moves to go)");
+    }
+
+    // Cancels a running hint search and takes down the shown hint; the found path is kept.
+    private void clearHint() {
+        hintRequest++;
+        if (pendingHint != null) {
+            pendingHint.cancel(true);
+            pendingHint = null;
+        }
+        for (ImageView tile : tiles) {
+            tile.setEffect(null);
+        }
+        hintButton.setDisable(false);
+        hintText.setText("");
+    }
+
+    private void placeTile(int tile) {
+        int cell = puzzle.getCell(tile);
+        int size = puzzle.getSize();
+        tiles[tile - 1].relocate(cell % size * pitch + GAP / 2, cell / size * pitch + GAP / 2);
+    }
+
+    @Override
+    public Parent getRoot() {
+        return root;
+    }
+
+    @Override
+    public void reset(GameSession session) {
+        clearHint();
+        hintPath = null;
+        String pastryName = session.getCurrentPastry();
+        int size = SlidingPuzzle.MIN_SIZE + session.getDifficulty().ordinal();
+        puzzle = new SlidingPuzzle(size, random);
+        pitch = BOARD_SIZE / size;
+        title.setText("Slide the " + pastryName + " Puzzle (Level 1)");
+        movesText.setText("Moves: 0");
+
+        Image pastryImage = ImageAssetCache.getInstance().getImage(PuzzleScene.imagePathFor(pastryName),
+                PuzzleScene.IMAGE_SIZE, PuzzleScene.IMAGE_SIZE, true, pastryName, 20);
+        for (int i = 0; i < tiles.length; i++) {
+            ImageView tile = tiles[i];
+            boolean used = i < size * size - 1;
+            tile.setVisible(used);
+            if (used) {
+                tile.setImage(pastryImage);
+                tile.setViewport(PuzzleScene.tileViewport(pastryImage, size, i));
+                tile.setFitWidth(pitch - GAP);
+                tile.setFitHeight(pitch - GAP);
+                placeTile(i + 1);
+            } else {
+                tile.setImage(null);
+            }
+        }
+        GameLog.info("SlidingPuzzleScene.reset: {}x{} board for {}", size, size, pastryName);
+    }
+}
@@ -0,0 +1,309 @@
+package com.pastrygame;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.SourceDataLine;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Short feedback sounds mixed in software into their own small-buffer output line, next to the
+ * music played by {@link AudioEngine}. Every effect is synthesized once into a PCM array, and
+ * playback uses a fixed set of preallocated voices, so triggering an effect neither blocks nor
+ * allocates. {@link #play(Effect)} is meant to be called from the FX thread.
+ */
+public class SoundEffectMixer {
+    public enum Effect { CARD_FLIP, CORRECT, INCORRECT, GUESS_HIT, GUESS_MISS, PUZZLE_SNAP }
+
+    private static final float SAMPLE_RATE = 44_100f;
+    private static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+    private static final int CHUNK_FRAMES = 256;
+    private static final int LINE_BUFFER_CHUNKS = 2;
+    private static final int DEFAULT_VOICES = 8;
+    private static final int PENDING_CAPACITY = 64;
+    private static final long IDLE_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final long LATENCY_TARGET_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final GameLog.RateLimiter SLOW_TRIGGER_LOG = GameLog.rateLimit(1, 5000);
+    private static SoundEffectMixer instance;
+
+    private final short[][] bank = new short[Effect.values().length][];
+    private final Thread thread;
+    private final LatencyHistogram latency;
+
+    // Single-producer ring of triggers: the FX thread writes, the mixer thread reads.
+    private final int[] pendingEffects = new int[PENDING_CAPACITY];
+    private final long[] pendingTimes = new long[PENDING_CAPACITY];
+    private final AtomicLong pendingTail = new AtomicLong();
+    private volatile long pendingHead;
+
+    // Voices, owned by the mixer thread. A null sample array marks a free slot.
+    private final short[][] voiceSamples;
+    private final int[] voicePositions;
+    private final long[] voiceTriggerTimes;
+    private final int[] mix = new int[CHUNK_FRAMES];
+    private final byte[] output = new byte[CHUNK_FRAMES * 2];
+    private SourceDataLine line;
+    private boolean lineUnavailable;
+
+    private volatile long triggers;
+    private volatile long steals;
+    private volatile long latencyCount;
+    private volatile long latencyTotalNanos;
+    private volatile long latencyMaxNanos;
+    private volatile long latencyLastNanos;
+
+    private SoundEffectMixer(int voices) {
+        this.voiceSamples = new short[voices][];
+        this.voicePositions = new int[voices];
+        this.voiceTriggerTimes = new long[voices];
+        synthesizeBank();
+        Metrics metrics = Metrics.getInstance();
+        this.latency = metrics.histogram("audio.effect.latency");
+        metrics.gauge("audio.effect.triggers", () -> triggers);
+        metrics.gauge("audio.effect.steals", () -> steals);
+        this.thread = new Thread(this::run, "sfx-mixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    public static synchronized SoundEffectMixer getInstance() {
+        if (instance == null) {
+            instance = new SoundEffectMixer(Integer.getInteger("pastry.sfx.voices", DEFAULT_VOICES));
+            GameLog.infoNum("SoundEffectMixer.getInstance: Initialized with {} voices", instance.voiceSamples.length);
+        }
+        return instance;
+    }
+
+    /**
+     * Starts {@code effect} on a free voice, taking over the oldest voice if all are busy.
+     * Triggers arriving faster than the mixer can take them are dropped.
+     */
+    public void play(Effect effect) {
+        long tail = pendingTail.get();
+        if (tail - pendingHead >= PENDING_CAPACITY) {
+            return;
+        }
+        int slot = (int) (tail % PENDING_CAPACITY);
+        pendingEffects[slot] = effect.ordinal();
+        pendingTimes[slot] = System.nanoTime();
+        pendingTail.set(tail + 1);
+        LockSupport.unpark(thread);
+    }
+
+    public long getTriggerCount() {
+        return triggers;
+    }
+
+    public long getStealCount() {
+        return steals;
+    }
+
+    /**
+     * Returns the trigger-to-speaker latency of the last effect in microseconds, measured from
+     * {@link #play(Effect)} to the moment its first sample leaves the line buffer.
+     */
+    public long getLastLatencyMicros() {
+        return latencyLastNanos / 1_000;
+    }
+
+    public long getMaxLatencyMicros() {
+        return latencyMaxNanos / 1_000;
+    }
+
+    public long getAverageLatencyMicros() {
+        long count = latencyCount;
+        return count == 0 ? 0 : latencyTotalNanos / count / 1_000;
+    }
+
+    public String getStats() {
+        return "triggers=" + triggers + ", steals=" + steals + ", latency last/avg/max="
+                + getLastLatencyMicros() + "/" + getAverageLatencyMicros() + "/" + getMaxLatencyMicros() + " us";
+    }
+
+    // The line keeps playing silence for IDLE_NANOS after the last effect (and after startup), so a
+    // trigger only waits for the small line buffer instead of a line start.
+    private void run() {
+        long lastActive = System.nanoTime();
+        while (true) {
+            try {
+                takePending();
+                boolean active = hasActiveVoices();
+                long now = System.nanoTime();
+                if (active) {
+                    lastActive = now;
+                }
+                if (!active && now - lastActive > IDLE_NANOS) {
+                    if (line != null && line.isRunning()) {
+                        line.stop();
+                        line.flush();
+                    }
+                    LockSupport.park(this);
+                    continue;
+                }
+                if (!openLine()) {
+                    Arrays.fill(voiceSamples, null);
+                    LockSupport.park(this);
+                    continue;
+                }
+                mixChunk();
+            } catch (Exception e) {
+                GameLog.error("SoundEffectMixer.run: Mixer thread error: {}", e.getMessage(), e);
+                Arrays.fill(voiceSamples, null);
+            }
+        }
+    }
+
+    private void takePending() {
+        long tail = pendingTail.get();
+        while (pendingHead < tail) {
+            int slot = (int) (pendingHead % PENDING_CAPACITY);
+            startVoice(bank[pendingEffects[slot]], pendingTimes[slot]);
+            pendingHead++;
+            triggers++;
+        }
+    }
+
+    private void startVoice(short[] samples, long triggerTime) {
+        int target = -1;
+        int oldest = 0;
+        for (int v = 0; v < voiceSamples.length; v++) {
+            if (voiceSamples[v] == null) {
+                target = v;
+                break;
+            }
+            if (voicePositions[v] > voicePositions[oldest]) {
+                oldest = v;
+            }
+        }
+        if (target < 0) {
+            target = oldest;
+            steals++;
+        }
+        voiceSamples[target] = samples;
+        voicePositions[target] = 0;
+        voiceTriggerTimes[target] = triggerTime;
+    }
+
+    private boolean hasActiveVoices() {
+        for (short[] samples : voiceSamples) {
+            if (samples != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void mixChunk() {
+        Arrays.fill(mix, 0);
+        // Audio already queued in the line plays before this chunk.
+        long queuedNanos = (long) ((line.getBufferSize() - line.available()) / 2 / SAMPLE_RATE * 1e9);
+        long now = System.nanoTime();
+        for (int v = 0; v < voiceSamples.length; v++) {
+            short[] samples = voiceSamples[v];
+            if (samples == null) {
+                continue;
+            }
+            int position = voicePositions[v];
+            if (position == 0) {
+                recordLatency(now - voiceTriggerTimes[v] + queuedNanos);
+            }
+            int count = Math.min(CHUNK_FRAMES, samples.length - position);
+            for (int i = 0; i < count; i++) {
+                mix[i] += samples[position + i];
+            }
+            position += count;
+            if (position >= samples.length) {
+                voiceSamples[v] = null;
+            }
+            voicePositions[v] = position;
+        }
+        for (int i = 0; i < CHUNK_FRAMES; i++) {
+            int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mix[i]));
+            output[2 * i] = (byte) sample;
+            output[2 * i + 1] = (byte) (sample >> 8);
+        }
+        if (!line.isRunning()) {
+            line.start();
+        }
+        line.write(output, 0, output.length);
+    }
+
+    private void recordLatency(long nanos) {
+        latencyLastNanos = nanos;
+        latency.record(nanos / 1_000);
+        latencyTotalNanos += nanos;
+        latencyCount++;
+        if (nanos > latencyMaxNanos) {
+            latencyMaxNanos = nanos;
+        }
+        if (nanos > LATENCY_TARGET_NANOS && SLOW_TRIGGER_LOG.allow()) {
+            GameLog.warn("SoundEffectMixer.mixChunk: Effect latency {} us above target", nanos / 1_000);
+        }
+    }
+
+    private boolean openLine() {
+        if (line != null) {
+            return true;
+        }
+        if (lineUnavailable) {
+            return false;
+        }
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, CHUNK_FRAMES * 2 * LINE_BUFFER_CHUNKS);
+            GameLog.infoNum("SoundEffectMixer.openLine: Opened effect line with {} byte buffer", line.getBufferSize());
+            return true;
+        } catch (Exception e) {
+            GameLog.error("SoundEffectMixer.openLine: No audio output available, effects disabled: {}", e.getMessage());
+            lineUnavailable = true;
+            line = null;
+            return false;
+        }
+    }
+
+    private void synthesizeBank() {
+        bank[Effect.CARD_FLIP.ordinal()] = noiseBurst(35, 0.35);
+        bank[Effect.CORRECT.ordinal()] = concat(tone(660, 660, 90, 0.4), tone(990, 990, 140, 0.4));
+        bank[Effect.INCORRECT.ordinal()] = tone(220, 150, 250, 0.45);
+        bank[Effect.GUESS_HIT.ordinal()] = tone(880, 1320, 80, 0.35);
+        bank[Effect.GUESS_MISS.ordinal()] = tone(300, 200, 120, 0.4);
+        bank[Effect.PUZZLE_SNAP.ordinal()] = concat(noiseBurst(10, 0.5), tone(520, 520, 40, 0.35));
+    }
+
+    // Sine sweep from startHz to endHz with an exponential decay envelope.
+    private static short[] tone(double startHz, double endHz, int millis, double volume) {
+        int length = (int) (SAMPLE_RATE * millis / 1000);
+        short[] samples = new short[length];
+        double phase = 0;
+        for (int i = 0; i < length; i++) {
+            double t = (double) i / length;
+            phase += 2 * Math.PI * (startHz + (endHz - startHz) * t) / SAMPLE_RATE;
+            double envelope = Math.exp(-4 * t) * Math.min(1, i / 44.0);
+            samples[i] = (short) (Math.sin(phase) * envelope * volume * Short.MAX_VALUE);
+        }
+        return samples;
+    }
+
+    private static short[] noiseBurst(int millis, double volume) {
+        int length = (int) (SAMPLE_RATE * millis / 1000);
+        short[] samples = new short[length];
+        long seed = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < length; i++) {
+            seed ^= seed << 13;
+            seed ^= seed >>> 7;
+            seed ^= seed << 17;
+            double envelope = Math.exp(-6.0 * i / length);
+            samples[i] = (short) ((seed % 32768) * envelope * volume);
+        }
+        return samples;
+    }
+
+    private static short[] concat(short[] first, short[] second) {
+        short[] samples = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, samples, first.length, second.length);
+        return samples;
+    }
+}
@@ -1,86 +1,69 @@
 package com.pastrygame;
 
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
-
+/**
+ * Game-level music controls on top of {@link AudioEngine}. Every call returns immediately;
+ * the actual loading, streaming and fading happens on the audio thread.
+ */
 public class SoundManager {
+    static final String BACKGROUND_MUSIC = "/sounds/Fkj-Ylang Ylang (slowed + reverb).wav";
+    static final String WIN_MUSIC = "/sounds/youtube_32M-4yuZVPo_audio.wav";
+    private static final long CROSSFADE_MILLIS = 800;
     private static SoundManager instance;
-    private Clip backgroundMusic;
-    private Clip winMusic;
+    private final AudioEngine engine;
 
     private SoundManager() {
+        this.engine = AudioEngine.getInstance();
     }
 
     public static SoundManager getInstance() {
         if (instance == null) {
             instance = new SoundManager();
-            System.out.println("SoundManager.getInstance: Initialized SoundManager");
+            GameLog.info("SoundManager.getInstance: Initialized SoundManager");
         }
         return instance;
     }
 
+    /**
+     * Decodes the win jingle ahead of time; it is short, so it is decoded once instead of on every
+     * win. Called once the first frame is up, to keep the decoding out of startup.
+     */
+    public void preloadWinMusic() {
+        engine.preload(WIN_MUSIC);
+    }
+
+    /**
+     * Starts the looping background music, or resumes it if it is already the current track.
+     */
     public void startBackgroundMusic() {
-        try {
-            // Load the background music
-            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(
-                    getClass().getResource("/sounds/Fkj-Ylang Ylang (slowed + reverb).wav")
-            );
-            if (audioInputStream == null) {
-                System.err.println("SoundManager.startBackgroundMusic: AudioInputStream is null for background music");
-                return;
-            }
-            backgroundMusic = AudioSystem.getClip();
-            backgroundMusic.open(audioInputStream);
-            backgroundMusic.loop(Clip.LOOP_CONTINUOUSLY);
-            backgroundMusic.start();
-            System.out.println("SoundManager.startBackgroundMusic: Background music started successfully");
-        } catch (Exception e) {
-            System.err.println("SoundManager.startBackgroundMusic: Error playing background music: " + e.getMessage());
-            e.printStackTrace();
-        }
+        engine.playMusic(BACKGROUND_MUSIC, true, CROSSFADE_MILLIS);
+        GameLog.info("SoundManager.startBackgroundMusic: Background music requested");
+    }
+
+    public void pauseBackgroundMusic() {
+        engine.pauseMusic();
+        GameLog.info("SoundManager.pauseBackgroundMusic: Background music paused");
+    }
+
+    public void resumeBackgroundMusic() {
+        engine.resumeMusic();
+        GameLog.info("SoundManager.resumeBackgroundMusic: Background music resumed");
     }
 
     public void stopBackgroundMusic() {
-        if (backgroundMusic != null && backgroundMusic.isOpen()) {
-            backgroundMusic.stop();
-            backgroundMusic.close();
-            System.out.println("SoundManager.stopBackgroundMusic: Background music stopped");
-        } else {
-            System.out.println("SoundManager.stopBackgroundMusic: No background music to stop or already closed");
-        }
+        engine.stopTrack(BACKGROUND_MUSIC, CROSSFADE_MILLIS);
+        GameLog.info("SoundManager.stopBackgroundMusic: Background music stopped");
     }
 
+    /**
+     * Crossfades from the background music to the win jingle.
+     */
     public void playWinMusic() {
-        try {
-            // Stop any existing win music to avoid overlap
-            stopWinMusic();
-            // Load the win music
-            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(
-                    getClass().getResource("/sounds/youtube_32M-4yuZVPo_audio.wav")
-            );
-            if (audioInputStream == null) {
-                System.err.println("SoundManager.playWinMusic: AudioInputStream is null for win music");
-                return;
-            }
-            winMusic = AudioSystem.getClip();
-            winMusic.open(audioInputStream);
-            winMusic.start();
-            System.out.println("SoundManager.playWinMusic: Win music started successfully");
-        } catch (Exception e) {
-            System.err.println("SoundManager.playWinMusic: Error playing win music: " + e.getMessage());
-            e.printStackTrace();
-        }
+        engine.playMusic(WIN_MUSIC, false, CROSSFADE_MILLIS);
+        GameLog.info("SoundManager.playWinMusic: Win music requested");
     }
 
     public void stopWinMusic() {
-        if (winMusic != null && winMusic.isOpen()) {
-            winMusic.stop();
-            winMusic.close();
-            System.out.println("SoundManager.stopWinMusic: Win music stopped");
-        } else {
-            System.out.println("SoundManager.stopWinMusic: No win music to stop or already closed");
-        }
+        engine.stopTrack(WIN_MUSIC, CROSSFADE_MILLIS);
+        GameLog.info("SoundManager.stopWinMusic: Win music stopped");
     }
-
 }
@@ -0,0 +1,87 @@
+package com.pastrygame;
+
+import javafx.scene.Scene;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Splits the time from JVM start to the first frame of the welcome screen into phases, so the
+ * effect of the class-data-sharing archive or of a change to startup can be measured. Enabled
+ * with {@code -Dpastry.startupTiming=true}; the phases are logged once the first frame is laid
+ * out. Used from the launcher thread and then from the FX thread, one after the other.
+ */
+public final class StartupTimer {
+    private static final boolean ENABLED = Boolean.getBoolean("pastry.startupTiming");
+    private static final StringBuilder phases = new StringBuilder();
+    private static long phaseStart;
+
+    private StartupTimer() {
+    }
+
+    /**
+     * Starts the first phase; called first thing in {@code main}. The time before it is the JVM's own startup.
+     */
+    public static void begin() {
+        if (!ENABLED) {
+            return;
+        }
+        phaseStart = System.nanoTime();
+        // Getting the uptime loads the management classes, which should not count as JVM startup.
+        long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        phases.append("jvm ").append(uptimeMillis - (System.nanoTime() - phaseStart) / 1_000_000).append(" ms");
+        phaseStart = System.nanoTime();
+    }
+
+    /**
+     * Ends the phase called {@code name}, which ran since the previous phase ended.
+     */
+    public static void phase(String name) {
+        if (!ENABLED) {
+            return;
+        }
+        long now = System.nanoTime();
+        phases.append(", ").append(name).append(' ').append((now - phaseStart) / 1_000_000).append(" ms");
+        phaseStart = now;
+    }
+
+    /**
+     * Runs {@code action} on the FX thread once the first frame of {@code scene} has been laid
+     * out, after logging the startup phases if they are timed.
+     */
+    public static void afterFirstFrame(Scene scene, Runnable action) {
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                if (ENABLED) {
+                    phase("first frame");
+                    report();
+                }
+                action.run();
+            }
+        });
+    }
+
+    private static void report() {
+        long totalMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        Metrics.getInstance().histogram("startup.firstFrame", "ms").record(totalMillis);
+        GameLog.info("StartupTimer.report: JVM start to first frame in {} ms ({}), class archive: {}", totalMillis, phases,
+                classArchive());
+    }
+
+    // The archive a jlink image built with the cds profile loads by default, or one given on the command line.
+    private static String classArchive() {
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (argument.equals("-Xshare:off")) {
+                return "off";
+            }
+            if (argument.startsWith("-XX:SharedArchiveFile=")) {
+                return argument.substring("-XX:SharedArchiveFile=".length());
+            }
+        }
+        Path defaultArchive = Path.of(System.getProperty("java.home"), "lib", "server", "classes.jsa");
+        return Files.exists(defaultArchive) ? defaultArchive.toString() : "none";
+    }
+}
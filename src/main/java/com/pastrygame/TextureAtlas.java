@@ -0,0 +1,204 @@
+package com.pastrygame;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Small images packed into a few large pages, so a screen full of sprites is a handful of
+ * textures instead of one per image. Every sprite is decoded once at the size it is shown at and
+ * copied into its page; sprites are placed on shelves, tallest first. A sprite that cannot be
+ * loaded gets a gray placeholder. Can be built on any thread.
+ * <p>
+ * An {@link #unpacked()} atlas stands in while the packed one is not ready: it has no pages and
+ * decodes every sprite on its own, through {@link ImageAssetCache}, when it is first asked for.
+ */
+public class TextureAtlas {
+    static final int PAGE_SIZE = 1024;
+    // Transparent space around every sprite, so smooth scaling does not pick up its neighbours.
+    private static final int PADDING = 2;
+    private static final int PLACEHOLDER = 0xFFD3D3D3;
+    private static final int PLACEHOLDER_BORDER = 0xFF000000;
+
+    private final List<WritableImage> pages;
+    private final Map<String, Sprite> sprites;
+    private final boolean unpacked;
+
+    /**
+     * A sprite on an atlas page, shown through a viewport in an {@link ImageView} or drawn onto a canvas.
+     */
+    public record Sprite(Image page, Rectangle2D viewport) {
+        public void applyTo(ImageView view) {
+            view.setImage(page);
+            view.setViewport(viewport);
+        }
+
+        public void draw(GraphicsContext graphics, double x, double y, double width, double height) {
+            graphics.drawImage(page, viewport.getMinX(), viewport.getMinY(), viewport.getWidth(), viewport.getHeight(),
+                    x, y, width, height);
+        }
+    }
+
+    private record Entry(String path, int width, int height) {
+    }
+
+    public static final class Builder {
+        private final List<Entry> entries = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds the image at {@code path}, decoded at {@code width}x{@code height}. Adding the same
+         * image at the same size twice adds it once.
+         */
+        public Builder add(String path, int width, int height) {
+            if (width + 2 * PADDING > PAGE_SIZE || height + 2 * PADDING > PAGE_SIZE) {
+                throw new IllegalArgumentException("Sprite larger than an atlas page: " + path + " " + width + "x" + height);
+            }
+            Entry entry = new Entry(path, width, height);
+            if (!entries.contains(entry)) {
+                entries.add(entry);
+            }
+            return this;
+        }
+
+        public TextureAtlas build() {
+            return new TextureAtlas(entries);
+        }
+    }
+
+    private TextureAtlas() {
+        this.pages = List.of();
+        this.sprites = new HashMap<>();
+        this.unpacked = true;
+    }
+
+    private TextureAtlas(List<Entry> entries) {
+        this.unpacked = false;
+        long start = System.nanoTime();
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingInt(Entry::height).thenComparingInt(Entry::width).reversed());
+
+        // Shelf packing: fill a row left to right, start a new row below, and a new page when full.
+        List<int[]> positions = new ArrayList<>(sorted.size());
+        List<Integer> pageHeights = new ArrayList<>();
+        int x = PAGE_SIZE;
+        int shelfY = 0;
+        int shelfHeight = 0;
+        for (Entry entry : sorted) {
+            int width = entry.width() + 2 * PADDING;
+            int height = entry.height() + 2 * PADDING;
+            if (x + width > PAGE_SIZE) {
+                shelfY += shelfHeight;
+                x = 0;
+                shelfHeight = height;
+                if (pageHeights.isEmpty() || shelfY + height > PAGE_SIZE) {
+                    pageHeights.add(0);
+                    shelfY = 0;
+                }
+            }
+            int page = pageHeights.size() - 1;
+            positions.add(new int[]{page, x + PADDING, shelfY + PADDING});
+            pageHeights.set(page, Math.max(pageHeights.get(page), shelfY + height));
+            x += width;
+        }
+
+        int[][] pixels = new int[pageHeights.size()][];
+        for (int page = 0; page < pixels.length; page++) {
+            pixels[page] = new int[PAGE_SIZE * pageHeights.get(page)];
+        }
+        for (int i = 0; i < sorted.size(); i++) {
+            int[] position = positions.get(i);
+            copySprite(sorted.get(i), pixels[position[0]], position[1], position[2]);
+        }
+        this.pages = new ArrayList<>(pixels.length);
+        for (int page = 0; page < pixels.length; page++) {
+            int height = pageHeights.get(page);
+            WritableImage image = new WritableImage(PAGE_SIZE, height);
+            image.getPixelWriter().setPixels(0, 0, PAGE_SIZE, height, PixelFormat.getIntArgbPreInstance(), pixels[page], 0, PAGE_SIZE);
+            pages.add(image);
+        }
+        this.sprites = new HashMap<>();
+        for (int i = 0; i < sorted.size(); i++) {
+            Entry entry = sorted.get(i);
+            int[] position = positions.get(i);
+            sprites.put(key(entry.path(), entry.width(), entry.height()),
+                    new Sprite(pages.get(position[0]), new Rectangle2D(position[1], position[2], entry.width(), entry.height())));
+        }
+        Metrics.getInstance().histogram("assets.atlas.build").recordSince(start);
+        GameLog.info("TextureAtlas.build: Packed {} sprites into {}", sprites.size(), getStats());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns an atlas that decodes each sprite separately when it is first asked for, falling
+     * back to a placeholder. Must be used on the FX thread.
+     */
+    public static TextureAtlas unpacked() {
+        return new TextureAtlas();
+    }
+
+    /**
+     * Returns the sprite of {@code path} at {@code width}x{@code height}, or {@code null} if it
+     * was not added to this atlas. An unpacked atlas returns every sprite.
+     */
+    public Sprite getSprite(String path, int width, int height) {
+        String key = key(path, width, height);
+        Sprite sprite = sprites.get(key);
+        if (sprite == null && unpacked) {
+            String name = path.substring(path.lastIndexOf('/') + 1);
+            Image image = ImageAssetCache.getInstance().getImage(path, width, height, true, name, 12);
+            sprite = new Sprite(image, new Rectangle2D(0, 0, image.getWidth(), image.getHeight()));
+            sprites.put(key, sprite);
+        }
+        return sprite;
+    }
+
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    public String getStats() {
+        if (unpacked) {
+            return "unpacked, " + sprites.size() + " sprite(s)";
+        }
+        StringBuilder stats = new StringBuilder().append(pages.size()).append(" page(s):");
+        for (WritableImage page : pages) {
+            stats.append(' ').append((int) page.getWidth()).append('x').append((int) page.getHeight());
+        }
+        return stats.toString();
+    }
+
+    private static void copySprite(Entry entry, int[] page, int x, int y) {
+        Image image = ImageAssetCache.getInstance().decodeUncached(entry.path(), entry.width(), entry.height(), true);
+        if (image != null && (int) image.getWidth() == entry.width() && (int) image.getHeight() == entry.height()) {
+            image.getPixelReader().getPixels(0, 0, entry.width(), entry.height(), PixelFormat.getIntArgbPreInstance(),
+                    page, y * PAGE_SIZE + x, PAGE_SIZE);
+            return;
+        }
+        GameLog.error("TextureAtlas.copySprite: Using a placeholder for {}", entry.path());
+        for (int row = 0; row < entry.height(); row++) {
+            for (int column = 0; column < entry.width(); column++) {
+                boolean border = row == 0 || column == 0 || row == entry.height() - 1 || column == entry.width() - 1;
+                page[(y + row) * PAGE_SIZE + x + column] = border ? PLACEHOLDER_BORDER : PLACEHOLDER;
+            }
+        }
+    }
+
+    private static String key(String path, int width, int height) {
+        return path + '@' + width + 'x' + height;
+    }
+}
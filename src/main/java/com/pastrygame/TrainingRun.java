@@ -0,0 +1,67 @@
+package com.pastrygame;
+
+import com.pastrygame.engine.GameSession;
+import com.pastrygame.engine.RecipeCatalog;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.List;
+
+/**
+ * Visits every screen once, letting each render a few frames, and then quits. Started with
+ * {@code -Dpastry.trainingRun=true}; the {@code cds} Maven profile runs the jlink image this way
+ * to record which classes a game loads and archive them for later starts.
+ */
+public class TrainingRun {
+    private static final int FRAMES_PER_SCREEN = 10;
+
+    private final List<Runnable> steps;
+    private int frame;
+
+    private TrainingRun(SceneManager sceneManager) {
+        String pastry = RecipeCatalog.getInstance().getPastryName(0);
+        GameSession session = sceneManager.getSession();
+        this.steps = List.of(
+                sceneManager::showSelectionScene,
+                () -> sceneManager.showRecipeScene(pastry),
+                () -> sceneManager.showIngredientScene(pastry),
+                sceneManager::showPuzzleScene,
+                () -> {
+                    session.setPuzzleMode(GameSession.PuzzleMode.SLIDING);
+                    sceneManager.showPuzzleScene();
+                },
+                sceneManager::showMemoryMatchScene,
+                sceneManager::showHangmanScene,
+                sceneManager::showWinScene,
+                sceneManager::showGameOverScene,
+                sceneManager::togglePerformanceOverlay,
+                sceneManager::restartGame,
+                Platform::exit);
+    }
+
+    public static boolean isRequested() {
+        return Boolean.getBoolean("pastry.trainingRun");
+    }
+
+    /**
+     * Starts the tour on the FX thread; the application exits at its end.
+     */
+    public static void start(SceneManager sceneManager) {
+        GameLog.info("TrainingRun.start: Visiting every screen before exiting");
+        TrainingRun run = new TrainingRun(sceneManager);
+        // Not started through the scene manager, which stops every timer on a transition.
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                run.frame++;
+                if (run.frame % FRAMES_PER_SCREEN == 0) {
+                    int step = run.frame / FRAMES_PER_SCREEN - 1;
+                    if (step == run.steps.size() - 1) {
+                        stop();
+                    }
+                    run.steps.get(step).run();
+                }
+            }
+        }.start();
+    }
+}
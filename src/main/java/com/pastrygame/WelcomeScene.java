@@ -0,0 +1,58 @@
+package com.pastrygame;
+
+import com.pastrygame.engine.GameSession;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+public class WelcomeScene implements PooledScene {
+    private final StackPane root;
+    private final Button musicButton;
+
+    public WelcomeScene(SceneManager sceneManager) {
+        Text welcomeText = new Text("Are you ready to start the game?");
+        welcomeText.setFont(Font.font("Verdana", FontWeight.BOLD, 28));
+        welcomeText.setFill(Color.DARKMAGENTA);
+
+        Button startButton = new Button("START");
+        startButton.setFont(Font.font("Arial", FontWeight.EXTRA_BOLD, 40));
+        startButton.setStyle("-fx-background-color: #ffb6c1; -fx-text-fill: white; -fx-padding: 15 30 15 30; -fx-background-radius: 15;");
+        startButton.setOnAction(e -> {
+            GameLog.info("WelcomeScene: START button clicked");
+            sceneManager.showSelectionScene();
+        });
+
+        musicButton = Main.createMusicButton("WelcomeScene", "#ffb6c1");
+
+        VBox vbox = new VBox(20);
+        vbox.setAlignment(Pos.CENTER);
+        vbox.getChildren().addAll(welcomeText, startButton);
+
+        root = new StackPane();
+        root.setStyle("-fx-background-color: #ffe4e1;");
+        root.getChildren().add(vbox);
+
+        StackPane.setAlignment(musicButton, Pos.TOP_LEFT);
+        StackPane.setMargin(musicButton, new Insets(30));
+        root.getChildren().add(musicButton);
+        GameLog.info("WelcomeScene.constructor: Welcome Scene created");
+    }
+
+    @Override
+    public Parent getRoot() {
+        return root;
+    }
+
+    @Override
+    public void reset(GameSession session) {
+        Main.startBackgroundMusic();
+        Main.refreshMusicButton(musicButton);
+    }
+}
@@ -0,0 +1,94 @@
+package com.pastrygame;
+
+import com.pastrygame.engine.GameSession;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+import java.util.Random;
+
+public class WinScene implements PooledScene {
+    private final StackPane root;
+    private static final int BURST_SIZE = Integer.getInteger("pastry.fireworks.burst", 100);
+    private static final int CAPACITY = Integer.getInteger("pastry.fireworks.capacity", 65_536);
+    private static final GameLog.RateLimiter SPAWN_LOG = GameLog.rateLimit(1, 1000);
+    private static final GameLog.RateLimiter DRAW_LOG = GameLog.rateLimit(1, 1000);
+    private final FireworksEngine fireworks = new FireworksEngine(800, 600, CAPACITY);
+    private final SceneManager sceneManager;
+    private final AnimationTimer fireworksTimer;
+
+    public WinScene(SceneManager sceneManager) {
+        this.sceneManager = sceneManager;
+        Label label = new Label("Game Over, You Are Winner!");
+        label.setFont(Font.font("Verdana", FontWeight.BOLD, 28));
+        label.setTextFill(Color.YELLOW);
+
+        Button restartButton = new Button("Play Again");
+        restartButton.setStyle("-fx-background-color: #ffb6c1; -fx-text-fill: white; -fx-padding: 10; -fx-font-size: 16;");
+        restartButton.setOnAction(e -> {
+            GameLog.info("WinScene: Play Again button clicked");
+            sceneManager.restartGame();
+        });
+
+        ImageView fireworksView = new ImageView(fireworks.getImage());
+        Random random = new Random();
+
+        GameLog.infoNum("WinScene.constructor: Initializing fireworks with size 800x600, capacity {}", fireworks.getCapacity());
+
+        fireworksTimer = new AnimationTimer() {
+            private long lastUpdate = 0;
+            private long lastFirework = 0;
+
+            @Override
+            public void handle(long now) {
+                if (now - lastUpdate >= 16_666_666) { // ~60 FPS
+                    if (now - lastFirework >= 300_000_000) { // Every 0.3 seconds
+                        double x = random.nextDouble() * 600 + 100;
+                        double y = random.nextDouble() * 300 + 150;
+                        fireworks.spawnBurst(x, y, BURST_SIZE);
+                        if (SPAWN_LOG.allow()) {
+                            GameLog.debugNum("WinScene: Spawned fireworks at ({}, {}), total particles: {}",
+                                    (long) x, (long) y, fireworks.getSpawnedCount());
+                        }
+                        lastFirework = now;
+                    }
+
+                    fireworks.update();
+                    fireworks.render();
+                    fireworks.present();
+                    if (DRAW_LOG.allow()) {
+                        GameLog.debugNum("WinScene: Drawing {} particles", fireworks.getParticleCount());
+                    }
+                    lastUpdate = now;
+                }
+            }
+        };
+
+        VBox layout = new VBox(20, label, restartButton);
+        layout.setAlignment(Pos.CENTER);
+        layout.setStyle("-fx-background-color: transparent;");
+
+        root = new StackPane(fireworksView, layout);
+        GameLog.info("WinScene.constructor: Win Scene created");
+    }
+
+    @Override
+    public Parent getRoot() {
+        return root;
+    }
+
+    @Override
+    public void reset(GameSession session) {
+        fireworks.clear();
+        sceneManager.start(fireworksTimer);
+        GameLog.info("WinScene.reset: Fireworks timer started");
+    }
+}
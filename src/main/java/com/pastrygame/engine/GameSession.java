@@ -0,0 +1,99 @@
+package com.pastrygame.engine;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * The state of one player's game: chosen pastry, its recipe, level reached, mistakes, score, the
+ * chosen word difficulty and puzzle mode.
+ * Every field is volatile, so a session can be read from other threads (asset loading, metrics,
+ * a server) while the game thread updates it, and counters are bumped atomically through shared
+ * field updaters. A session holds no collections of its own, so creating or resetting one
+ * allocates nothing beyond the object itself.
+ */
+public class GameSession {
+    public enum PuzzleMode { JIGSAW, SLIDING }
+
+    private static final AtomicIntegerFieldUpdater<GameSession> MISTAKES =
+            AtomicIntegerFieldUpdater.newUpdater(GameSession.class, "mistakes");
+    private static final AtomicIntegerFieldUpdater<GameSession> SCORE =
+            AtomicIntegerFieldUpdater.newUpdater(GameSession.class, "score");
+
+    private volatile String currentPastry;
+    private volatile List<String> correctIngredients = List.of();
+    private volatile int currentLevel = 1;
+    private volatile int mistakes;
+    private volatile int score;
+    private volatile WordDictionary.Difficulty difficulty = WordDictionary.Difficulty.EASY;
+    private volatile PuzzleMode puzzleMode = PuzzleMode.JIGSAW;
+
+    /**
+     * Starts the session over, as after "Play Again". The chosen difficulty and puzzle mode are kept.
+     */
+    public void reset() {
+        currentPastry = null;
+        correctIngredients = List.of();
+        currentLevel = 1;
+        mistakes = 0;
+        score = 0;
+    }
+
+    public String getCurrentPastry() {
+        return currentPastry;
+    }
+
+    public void setCurrentPastry(String currentPastry) {
+        this.currentPastry = currentPastry;
+    }
+
+    public List<String> getCorrectIngredients() {
+        return correctIngredients;
+    }
+
+    public void setCorrectIngredients(List<String> correctIngredients) {
+        this.correctIngredients = List.copyOf(correctIngredients);
+    }
+
+    public int getCurrentLevel() {
+        return currentLevel;
+    }
+
+    public void setCurrentLevel(int currentLevel) {
+        this.currentLevel = currentLevel;
+    }
+
+    public int getMistakes() {
+        return mistakes;
+    }
+
+    /**
+     * Records one more mistake and returns the new total.
+     */
+    public int addMistake() {
+        return MISTAKES.incrementAndGet(this);
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int addScore(int points) {
+        return SCORE.addAndGet(this, points);
+    }
+
+    public WordDictionary.Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(WordDictionary.Difficulty difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public PuzzleMode getPuzzleMode() {
+        return puzzleMode;
+    }
+
+    public void setPuzzleMode(PuzzleMode puzzleMode) {
+        this.puzzleMode = puzzleMode;
+    }
+}
@@ -0,0 +1,274 @@
+package com.pastrygame.engine;
+
+/**
+ * Rules of the hangman level: letter guesses, hints that reveal the rarest hidden letter, and
+ * the win/lose conditions. Characters other than the letters a-z (such as the dash in
+ * "olive-oil") are shown from the start, since they cannot be guessed.
+ * <p>
+ * The positions of every letter are indexed once up front, guessed and still-hidden letters are
+ * 26-bit masks, and the displayed phrase and revealed count are updated in place, so a guess
+ * costs O(occurrences of the letter) and a win check O(1), without allocating.
+ */
+public class HangmanLevel {
+    public enum GuessResult { EMPTY, TOO_LONG, NOT_A_LETTER, ALREADY_GUESSED, HIT, MISS, WON, LOST }
+
+    public static final int MAX_TRIES = 6;
+    public static final int MAX_HINTS = 3;
+    public static final int MAX_MISTAKES = 6;
+    private static final char HIDDEN = '_';
+    private static final int LETTERS = 26;
+
+    private final String phrase;
+    // Positions of letter l in the phrase are letterPositions[letterStart[l]] until letterStart[l + 1].
+    private final int[] letterStart = new int[LETTERS + 1];
+    private final int[] letterPositions;
+    // The phrase as shown, one character per phrase character with a space in between.
+    private final char[] display;
+    private final char[] guessOrder = new char[LETTERS];
+    private final int letterCount;
+    private final CharSequence pattern = new Pattern();
+    private final GameSession session;
+    private final WordDictionary dictionary;
+    private int guessedMask;
+    private int hiddenMask;
+    private int guessCount;
+    private int revealedCount;
+    private int triesLeft = MAX_TRIES;
+    private int hintsUsed;
+
+    /**
+     * @param phrase  the phrase to guess, in lower case
+     * @param session the session wrong guesses are counted against
+     */
+    public HangmanLevel(String phrase, GameSession session) {
+        this(phrase, session, null);
+    }
+
+    /**
+     * @param phrase     the phrase to guess, in lower case
+     * @param session    the session wrong guesses are counted against
+     * @param dictionary the words hints are chosen against, see {@link WordDictionary#suggestHint(HangmanLevel)}
+     */
+    public HangmanLevel(String phrase, GameSession session, WordDictionary dictionary) {
+        this.phrase = phrase;
+        this.session = session;
+        this.dictionary = dictionary;
+        this.display = new char[Math.max(0, phrase.length() * 2 - 1)];
+        int letters = 0;
+        for (int i = 0; i < phrase.length(); i++) {
+            char c = phrase.charAt(i);
+            int letter = c - 'a';
+            if (letter >= 0 && letter < LETTERS) {
+                letterStart[letter]++;
+                hiddenMask |= 1 << letter;
+                letters++;
+                display[2 * i] = HIDDEN;
+            } else {
+                display[2 * i] = c == ' ' ? '-' : c;
+            }
+            if (i > 0) {
+                display[2 * i - 1] = ' ';
+            }
+        }
+        // Running totals make letterStart[l] the end of letter l; filling back to front then
+        // moves it down to the start.
+        for (int letter = 0; letter < LETTERS; letter++) {
+            letterStart[letter + 1] += letterStart[letter];
+        }
+        this.letterCount = letters;
+        this.letterPositions = new int[letters];
+        for (int i = phrase.length() - 1; i >= 0; i--) {
+            int letter = phrase.charAt(i) - 'a';
+            if (letter >= 0 && letter < LETTERS) {
+                letterPositions[--letterStart[letter]] = i;
+            }
+        }
+    }
+
+    /**
+     * Validates and applies a guess typed by the player. Surrounding whitespace is ignored.
+     */
+    public GuessResult guess(String input) {
+        int start = 0;
+        int end = input.length();
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return GuessResult.EMPTY;
+        }
+        if (end - start > 1) {
+            return GuessResult.TOO_LONG;
+        }
+        return guess(input.charAt(start));
+    }
+
+    public GuessResult guess(char letter) {
+        int index = Character.toLowerCase(letter) - 'a';
+        if (index < 0 || index >= LETTERS) {
+            return GuessResult.NOT_A_LETTER;
+        }
+        if ((guessedMask & (1 << index)) != 0) {
+            return GuessResult.ALREADY_GUESSED;
+        }
+        boolean hit = reveal(index);
+        if (!hit) {
+            triesLeft--;
+            session.addMistake();
+        }
+        if (isWon()) {
+            return GuessResult.WON;
+        }
+        if (isLost()) {
+            return GuessResult.LOST;
+        }
+        return hit ? GuessResult.HIT : GuessResult.MISS;
+    }
+
+    /**
+     * Reveals a hidden letter: the one that best tells the phrase apart from the other words of
+     * the dictionary, or without a dictionary the rarest one. Returns it, or {@code '\0'} if no
+     * hint is left.
+     */
+    public char hint() {
+        if (hintsUsed >= MAX_HINTS) {
+            return '\0';
+        }
+        char letter = dictionary == null ? leastFrequentLetter() : dictionary.suggestHint(this);
+        if (letter == '\0') {
+            return '\0';
+        }
+        reveal(letter - 'a');
+        hintsUsed++;
+        return letter;
+    }
+
+    /**
+     * Returns the hidden letter that occurs least often in the phrase, the first in the alphabet
+     * on a tie, or {@code '\0'} if every letter is revealed. This is the letter the next
+     * {@link #hint()} gives away.
+     */
+    public char leastFrequentLetter() {
+        int leastFrequent = -1;
+        int minCount = Integer.MAX_VALUE;
+        for (int hidden = hiddenMask; hidden != 0; hidden &= hidden - 1) {
+            int letter = Integer.numberOfTrailingZeros(hidden);
+            int count = letterStart[letter + 1] - letterStart[letter];
+            if (count < minCount) {
+                minCount = count;
+                leastFrequent = letter;
+            }
+        }
+        return leastFrequent < 0 ? '\0' : (char) ('a' + leastFrequent);
+    }
+
+    private boolean reveal(int letter) {
+        guessedMask |= 1 << letter;
+        guessOrder[guessCount++] = (char) ('a' + letter);
+        hiddenMask &= ~(1 << letter);
+        int from = letterStart[letter];
+        int to = letterStart[letter + 1];
+        for (int p = from; p < to; p++) {
+            display[2 * letterPositions[p]] = (char) ('a' + letter);
+        }
+        revealedCount += to - from;
+        return to > from;
+    }
+
+    /**
+     * Returns the phrase as shown to the player, e.g. {@code "c _ o _ o _ a _ e"}.
+     */
+    public String getDisplay() {
+        return new String(display);
+    }
+
+    /**
+     * Returns the phrase with '_' for every hidden letter, e.g. {@code "c_o_o_a_e"}. The view
+     * follows the level as letters are revealed.
+     */
+    public CharSequence getPattern() {
+        return pattern;
+    }
+
+    public boolean isWon() {
+        return revealedCount == letterCount;
+    }
+
+    public boolean isLost() {
+        return !isWon() && (triesLeft <= 0 || session.getMistakes() >= MAX_MISTAKES);
+    }
+
+    public String getPhrase() {
+        return phrase;
+    }
+
+    /**
+     * Returns the guessed and hinted letters in the order they were played, e.g. {@code "e, a, x"}.
+     */
+    public String getGuessedLetters() {
+        StringBuilder letters = new StringBuilder(guessCount * 3);
+        for (int i = 0; i < guessCount; i++) {
+            if (i > 0) {
+                letters.append(", ");
+            }
+            letters.append(guessOrder[i]);
+        }
+        return letters.toString();
+    }
+
+    /**
+     * Returns the guessed letters as a mask with bit 0 for 'a' up to bit 25 for 'z'.
+     */
+    public int getGuessedMask() {
+        return guessedMask;
+    }
+
+    int getHiddenMask() {
+        return hiddenMask;
+    }
+
+    public int getTriesLeft() {
+        return triesLeft;
+    }
+
+    public int getHintsLeft() {
+        return MAX_HINTS - hintsUsed;
+    }
+
+    /**
+     * Returns how many parts of the gallows drawing are shown, one per wrong guess.
+     */
+    public int getDrawingStage() {
+        return MAX_TRIES - triesLeft;
+    }
+
+    private final class Pattern implements CharSequence {
+        @Override
+        public int length() {
+            return phrase.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            char c = display[2 * index];
+            return c == '-' && phrase.charAt(index) == ' ' ? ' ' : c;
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            char[] chars = new char[length()];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = charAt(i);
+            }
+            return new String(chars);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.pastrygame.engine;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rules of the ingredient level: the player selects ingredients and submits, and the selection
+ * must be exactly the recipe. A wrong submission costs a mistake and clears the selection.
+ * <p>
+ * Recipe and selection are bitsets over {@link RecipeCatalog} ingredient ids, and the correct and
+ * extra counts are kept up to date on every toggle, so grading a submission is constant-time no
+ * matter how many ingredients the catalog has.
+ */
+public class IngredientLevel {
+    public enum Outcome { CORRECT, INCORRECT, GAME_OVER }
+
+    public static final int MAX_MISTAKES = 3;
+    public static final int MAX_POINTS = 100;
+    public static final int WRONG_SUBMISSION_PENALTY = 20;
+
+    private final long[] recipe;
+    private final long[] selected;
+    private final int recipeSize;
+    private final GameSession session;
+    private int correctCount;
+    private int extraCount;
+    private int wrongSubmissions;
+    private int lastGrade;
+
+    /**
+     * @param catalog the catalog the ingredient ids refer to
+     * @param recipe  the names of the ingredients that have to be selected
+     * @param session the session mistakes and points are counted against
+     * @throws IllegalArgumentException if the recipe names an ingredient the catalog does not have
+     */
+    public IngredientLevel(RecipeCatalog catalog, List<String> recipe, GameSession session) {
+        int words = (catalog.getIngredientCount() + 63) >>> 6;
+        this.recipe = new long[words];
+        this.selected = new long[words];
+        this.session = session;
+        int size = 0;
+        for (String name : recipe) {
+            int ingredient = catalog.ingredientId(name);
+            if (ingredient < 0) {
+                throw new IllegalArgumentException("Unknown ingredient " + name);
+            }
+            if (!contains(this.recipe, ingredient)) {
+                this.recipe[ingredient >>> 6] |= 1L << ingredient;
+                size++;
+            }
+        }
+        this.recipeSize = size;
+    }
+
+    public void setSelected(int ingredient, boolean isSelected) {
+        if (contains(selected, ingredient) == isSelected) {
+            return;
+        }
+        selected[ingredient >>> 6] ^= 1L << ingredient;
+        int delta = isSelected ? 1 : -1;
+        if (contains(recipe, ingredient)) {
+            correctCount += delta;
+        } else {
+            extraCount += delta;
+        }
+    }
+
+    public boolean isSelected(int ingredient) {
+        return contains(selected, ingredient);
+    }
+
+    public void clearSelection() {
+        Arrays.fill(selected, 0);
+        correctCount = 0;
+        extraCount = 0;
+    }
+
+    /**
+     * Checks the current selection against the recipe. When the level ends, either solved or
+     * lost, its grade is added to the session score.
+     */
+    public Outcome submit() {
+        lastGrade = grade(correctCount, extraCount, recipeSize);
+        if (matches()) {
+            session.addScore(Math.max(0, lastGrade - wrongSubmissions * WRONG_SUBMISSION_PENALTY));
+            return Outcome.CORRECT;
+        }
+        wrongSubmissions++;
+        if (session.addMistake() >= MAX_MISTAKES) {
+            session.addScore(lastGrade);
+            return Outcome.GAME_OVER;
+        }
+        clearSelection();
+        return Outcome.INCORRECT;
+    }
+
+    /**
+     * Returns the partial credit for a selection: the share of the recipe that was picked, minus
+     * the same share for every ingredient that does not belong, between 0 and {@link #MAX_POINTS}.
+     */
+    public static int grade(int correct, int extra, int recipeSize) {
+        if (recipeSize == 0) {
+            return extra == 0 ? MAX_POINTS : 0;
+        }
+        return Math.max(0, (correct - extra) * MAX_POINTS / recipeSize);
+    }
+
+    public boolean matches() {
+        return correctCount == recipeSize && extraCount == 0;
+    }
+
+    public int getCorrectCount() {
+        return correctCount;
+    }
+
+    public int getMissingCount() {
+        return recipeSize - correctCount;
+    }
+
+    public int getExtraCount() {
+        return extraCount;
+    }
+
+    /**
+     * Returns the grade of the last submission, see {@link #grade(int, int, int)}.
+     */
+    public int getLastGrade() {
+        return lastGrade;
+    }
+
+    public int getRecipeSize() {
+        return recipeSize;
+    }
+
+    private static boolean contains(long[] bits, int ingredient) {
+        return (bits[ingredient >>> 6] & (1L << ingredient)) != 0;
+    }
+}
@@ -0,0 +1,165 @@
+package com.pastrygame.engine;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Rules of the memory-match level. Every pair of cards shows one face, reusing the faces in
+ * turn when there are more pairs than faces, so any two cards with the same face match. Cards
+ * are identified by their index, and a pair is compared by face id rather than by looking cards
+ * up. After a mismatch the level waits until {@link #hideMismatch()} turns the two cards back over.
+ */
+public class MemoryLevel {
+    public enum FlipResult { IGNORED, FIRST, MATCH, MISMATCH, COMPLETE }
+
+    private final List<String> faces;
+    private final int[] faceOfCard;
+    private final boolean[] faceUp;
+    private final boolean[] matched;
+    private final int pairCount;
+    private final int timeLimit;
+    private int firstCard = -1;
+    private int secondCard = -1;
+    private int pairsFound;
+    private int timeLeft;
+
+    /**
+     * Deals one pair of cards per face.
+     */
+    public MemoryLevel(List<String> faces, Random random) {
+        this(faces, faces.size(), 0, random);
+    }
+
+    /**
+     * @param pairCount        how many pairs to deal
+     * @param timeLimitSeconds seconds to find every pair in, or 0 for no time limit
+     */
+    public MemoryLevel(List<String> faces, int pairCount, int timeLimitSeconds, Random random) {
+        this.faces = List.copyOf(faces);
+        this.pairCount = pairCount;
+        this.timeLimit = timeLimitSeconds;
+        this.timeLeft = timeLimitSeconds;
+        int cardCount = pairCount * 2;
+        this.faceOfCard = new int[cardCount];
+        this.faceUp = new boolean[cardCount];
+        this.matched = new boolean[cardCount];
+        for (int card = 0; card < cardCount; card++) {
+            faceOfCard[card] = card / 2 % faces.size();
+        }
+        for (int i = cardCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = faceOfCard[i];
+            faceOfCard[i] = faceOfCard[j];
+            faceOfCard[j] = swap;
+        }
+    }
+
+    /**
+     * Turns {@code card} face up. Clicks on face-up cards, while a mismatch is showing and after
+     * the time ran out are ignored.
+     */
+    public FlipResult flip(int card) {
+        if (isWaiting() || faceUp[card] || isTimedOut()) {
+            return FlipResult.IGNORED;
+        }
+        faceUp[card] = true;
+        if (firstCard < 0) {
+            firstCard = card;
+            return FlipResult.FIRST;
+        }
+        secondCard = card;
+        if (faceOfCard[firstCard] != faceOfCard[secondCard]) {
+            return FlipResult.MISMATCH;
+        }
+        matched[firstCard] = true;
+        matched[secondCard] = true;
+        pairsFound++;
+        firstCard = -1;
+        secondCard = -1;
+        return isComplete() ? FlipResult.COMPLETE : FlipResult.MATCH;
+    }
+
+    /**
+     * Turns the two mismatched cards face down again.
+     */
+    public void hideMismatch() {
+        if (!isWaiting()) {
+            return;
+        }
+        faceUp[firstCard] = false;
+        faceUp[secondCard] = false;
+        firstCard = -1;
+        secondCard = -1;
+    }
+
+    /**
+     * Counts one second down; returns true exactly once, on the tick the time runs out. Does
+     * nothing without a time limit.
+     */
+    public boolean tick() {
+        if (isComplete() || timeLeft <= 0) {
+            return false;
+        }
+        timeLeft--;
+        return timeLeft == 0;
+    }
+
+    public boolean isTimedOut() {
+        return hasTimeLimit() && timeLeft <= 0 && !isComplete();
+    }
+
+    public boolean hasTimeLimit() {
+        return timeLimit > 0;
+    }
+
+    public int getTimeLeft() {
+        return timeLeft;
+    }
+
+    public boolean isWaiting() {
+        return secondCard >= 0;
+    }
+
+    public int getFirstCard() {
+        return firstCard;
+    }
+
+    public int getSecondCard() {
+        return secondCard;
+    }
+
+    public String getFace(int card) {
+        return faces.get(faceOfCard[card]);
+    }
+
+    /**
+     * Returns the index in the face list of the face {@code card} shows.
+     */
+    public int getFaceId(int card) {
+        return faceOfCard[card];
+    }
+
+    public boolean isFaceUp(int card) {
+        return faceUp[card];
+    }
+
+    public boolean isMatched(int card) {
+        return matched[card];
+    }
+
+    public int getCardCount() {
+        return faceOfCard.length;
+    }
+
+    public int getPairCount() {
+        return pairCount;
+    }
+
+    public int getPairsFound() {
+        return pairsFound;
+    }
+
+    public boolean isComplete() {
+        return pairsFound == pairCount;
+    }
+}
@@ -0,0 +1,120 @@
+package com.pastrygame.engine;
+
+import java.util.Random;
+
+/**
+ * Rules of the jigsaw level on an N×N grid: piece {@code i} belongs in slot {@code i}, counted row
+ * by row, a piece dropped on its own slot locks in place, and the level is solved once every piece
+ * is locked. The countdown is advanced explicitly with {@link #tick()}, once per second of game time.
+ */
+public class PuzzleLevel {
+    public enum Outcome { PLACED, LOCKED, SOLVED, IGNORED }
+
+    public static final int MIN_GRID_SIZE = 2;
+    public static final int MAX_GRID_SIZE = 10;
+
+    private final int gridSize;
+    private final int pieceCount;
+    private final int[] startPositions;
+    private final boolean[] locked;
+    private int lockedCount;
+    private int timeLeft;
+
+    /**
+     * @param gridSize pieces per row and column, from {@link #MIN_GRID_SIZE} to {@link #MAX_GRID_SIZE}
+     */
+    public PuzzleLevel(int gridSize, int timeLimitSeconds, Random random) {
+        if (gridSize < MIN_GRID_SIZE || gridSize > MAX_GRID_SIZE) {
+            throw new IllegalArgumentException("Grid size " + gridSize + " outside "
+                    + MIN_GRID_SIZE + ".." + MAX_GRID_SIZE);
+        }
+        this.gridSize = gridSize;
+        this.pieceCount = gridSize * gridSize;
+        this.startPositions = new int[pieceCount];
+        this.locked = new boolean[pieceCount];
+        this.timeLeft = timeLimitSeconds;
+        for (int i = 0; i < pieceCount; i++) {
+            startPositions[i] = i;
+        }
+        for (int i = pieceCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = startPositions[i];
+            startPositions[i] = startPositions[j];
+            startPositions[j] = swap;
+        }
+    }
+
+    /**
+     * Returns the shuffled position, in {@code 0..pieceCount-1}, a piece starts out at.
+     */
+    public int getStartPosition(int piece) {
+        return startPositions[piece];
+    }
+
+    /**
+     * Returns the slot under the point ({@code x}, {@code y}), measured from the top left corner
+     * of a board {@code boardSize} wide and high, or -1 if the point is off the board.
+     */
+    public int slotAt(double x, double y, double boardSize) {
+        if (x < 0 || y < 0 || x >= boardSize || y >= boardSize) {
+            return -1;
+        }
+        int column = (int) (x * gridSize / boardSize);
+        int row = (int) (y * gridSize / boardSize);
+        return row * gridSize + column;
+    }
+
+    /**
+     * Drops {@code piece} on {@code slot}. Locked pieces and moves after the level ended are ignored.
+     */
+    public Outcome place(int piece, int slot) {
+        if (locked[piece] || isSolved() || isTimedOut()) {
+            return Outcome.IGNORED;
+        }
+        if (piece != slot) {
+            return Outcome.PLACED;
+        }
+        locked[piece] = true;
+        lockedCount++;
+        return isSolved() ? Outcome.SOLVED : Outcome.LOCKED;
+    }
+
+    /**
+     * Counts one second down; returns true exactly once, on the tick the time runs out.
+     */
+    public boolean tick() {
+        if (isSolved() || timeLeft <= 0) {
+            return false;
+        }
+        timeLeft--;
+        return timeLeft == 0;
+    }
+
+    public boolean isLocked(int piece) {
+        return locked[piece];
+    }
+
+    public boolean isSolved() {
+        return lockedCount == pieceCount;
+    }
+
+    public boolean isTimedOut() {
+        return timeLeft <= 0 && !isSolved();
+    }
+
+    public int getTimeLeft() {
+        return timeLeft;
+    }
+
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    public int getPieceCount() {
+        return pieceCount;
+    }
+
+    public int getLockedCount() {
+        return lockedCount;
+    }
+}
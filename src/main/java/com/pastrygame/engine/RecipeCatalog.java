@@ -0,0 +1,281 @@
+package com.pastrygame.engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every pastry, ingredient and recipe of the game, read from {@value #RESOURCE}. Ingredients and
+ * pastries are interned to small integer ids on load, and all recipes share a few flat primitive
+ * arrays indexed through per-pastry offsets, so lookups by id touch no boxed or per-recipe objects.
+ * A catalog is immutable and can be shared between threads.
+ */
+public final class RecipeCatalog {
+    public static final String RESOURCE = "/data/recipes.txt";
+
+    private static RecipeCatalog instance;
+
+    private final String[] ingredientNames;
+    private final String[] ingredientImages;
+    private final Map<String, Integer> ingredientIds;
+    private final String[] pastryNames;
+    private final String[] pastryImages;
+    private final Map<String, Integer> pastryIds;
+    private final String[] units;
+    // Recipe of pastry p is entries recipeOffsets[p] until recipeOffsets[p + 1].
+    private final int[] recipeOffsets;
+    private final short[] recipeIngredients;
+    private final int[] recipeQuantities;
+    private final byte[] recipeUnits;
+    private final long loadNanos;
+
+    private RecipeCatalog(Builder builder, long startNanos) {
+        this.ingredientNames = builder.ingredientNames.toArray(new String[0]);
+        this.ingredientImages = builder.ingredientImages.toArray(new String[0]);
+        this.ingredientIds = builder.ingredientIds;
+        this.pastryNames = builder.pastryNames.toArray(new String[0]);
+        this.pastryImages = builder.pastryImages.toArray(new String[0]);
+        this.pastryIds = builder.pastryIds;
+        this.units = builder.units.toArray(new String[0]);
+        this.recipeOffsets = Arrays.copyOf(builder.recipeOffsets, pastryNames.length + 1);
+        this.recipeOffsets[pastryNames.length] = builder.entryCount;
+        this.recipeIngredients = Arrays.copyOf(builder.recipeIngredients, builder.entryCount);
+        this.recipeQuantities = Arrays.copyOf(builder.recipeQuantities, builder.entryCount);
+        this.recipeUnits = Arrays.copyOf(builder.recipeUnits, builder.entryCount);
+        this.loadNanos = System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Returns the catalog bundled with the game, reading it on first use.
+     */
+    public static synchronized RecipeCatalog getInstance() {
+        if (instance == null) {
+            try (InputStream in = RecipeCatalog.class.getResourceAsStream(RESOURCE)) {
+                if (in == null) {
+                    throw new IllegalStateException("Recipe catalog " + RESOURCE + " is missing");
+                }
+                instance = load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read recipe catalog " + RESOURCE, e);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Reads a catalog in the format of {@value #RESOURCE}.
+     *
+     * @throws IllegalArgumentException if a line is malformed, naming the line
+     */
+    public static RecipeCatalog load(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Builder builder = new Builder();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] fields = trimmed.split("\\|");
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected 3 fields separated by '|'");
+            }
+            String first = fields[0].strip();
+            String second = fields[1].strip();
+            String third = fields[2].strip();
+            try {
+                if (first.equals("ingredient")) {
+                    builder.addIngredient(second, third);
+                } else if (first.equals("pastry")) {
+                    builder.addPastry(second, third);
+                } else {
+                    builder.addRecipeEntry(first, Integer.parseInt(second), third);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return new RecipeCatalog(builder, start);
+    }
+
+    public int getIngredientCount() {
+        return ingredientNames.length;
+    }
+
+    /**
+     * Returns the id of the ingredient called {@code name}, or -1 if there is none.
+     */
+    public int ingredientId(String name) {
+        Integer id = ingredientIds.get(name);
+        return id == null ? -1 : id;
+    }
+
+    public String getIngredientName(int ingredient) {
+        return ingredientNames[ingredient];
+    }
+
+    public String getIngredientImage(int ingredient) {
+        return ingredientImages[ingredient];
+    }
+
+    public int getPastryCount() {
+        return pastryNames.length;
+    }
+
+    /**
+     * Returns the id of the pastry called {@code name}, or -1 if there is none.
+     */
+    public int pastryId(String name) {
+        Integer id = name == null ? null : pastryIds.get(name);
+        return id == null ? -1 : id;
+    }
+
+    public String getPastryName(int pastry) {
+        return pastryNames[pastry];
+    }
+
+    public String getPastryImage(int pastry) {
+        return pastryImages[pastry];
+    }
+
+    public int getRecipeSize(int pastry) {
+        return recipeOffsets[pastry + 1] - recipeOffsets[pastry];
+    }
+
+    /**
+     * Returns the ingredient id of entry {@code entry} of the recipe of {@code pastry}.
+     */
+    public int getRecipeIngredient(int pastry, int entry) {
+        return recipeIngredients[recipeOffsets[pastry] + entry];
+    }
+
+    public int getRecipeQuantity(int pastry, int entry) {
+        return recipeQuantities[recipeOffsets[pastry] + entry];
+    }
+
+    public String getRecipeUnit(int pastry, int entry) {
+        return units[recipeUnits[recipeOffsets[pastry] + entry]];
+    }
+
+    /**
+     * Returns the ingredient names of the recipe of {@code pastry}, in recipe order.
+     */
+    public List<String> getRecipeIngredientNames(int pastry) {
+        String[] names = new String[getRecipeSize(pastry)];
+        for (int entry = 0; entry < names.length; entry++) {
+            names[entry] = ingredientNames[getRecipeIngredient(pastry, entry)];
+        }
+        return List.of(names);
+    }
+
+    public long getLoadMicros() {
+        return loadNanos / 1_000;
+    }
+
+    /**
+     * Returns a rough estimate of the heap retained by this catalog in bytes: the arrays, the
+     * strings they point to and the two name lookup maps.
+     */
+    public long getFootprintBytes() {
+        long bytes = 0;
+        for (String[] strings : List.of(ingredientNames, ingredientImages, pastryNames, pastryImages, units)) {
+            bytes += 16 + 4L * strings.length;
+            for (String string : strings) {
+                bytes += 40 + string.length();
+            }
+        }
+        bytes += 16 + 4L * recipeOffsets.length;
+        bytes += 16 + 2L * recipeIngredients.length;
+        bytes += 16 + 4L * recipeQuantities.length;
+        bytes += 16 + recipeUnits.length;
+        // HashMap: a 32 byte node, a table slot and a boxed id per entry.
+        bytes += 2 * 48 + 56L * (ingredientIds.size() + pastryIds.size());
+        return bytes;
+    }
+
+    public String getStats() {
+        return "pastries=" + pastryNames.length + ", ingredients=" + ingredientNames.length
+                + ", recipe entries=" + recipeIngredients.length + ", loaded in " + getLoadMicros()
+                + " us, ~" + getFootprintBytes() + " bytes";
+    }
+
+    private static final class Builder {
+        private final List<String> ingredientNames = new ArrayList<>();
+        private final List<String> ingredientImages = new ArrayList<>();
+        private final Map<String, Integer> ingredientIds = new HashMap<>();
+        private final List<String> pastryNames = new ArrayList<>();
+        private final List<String> pastryImages = new ArrayList<>();
+        private final Map<String, Integer> pastryIds = new HashMap<>();
+        private final List<String> units = new ArrayList<>();
+        private int[] recipeOffsets = new int[16];
+        private short[] recipeIngredients = new short[64];
+        private int[] recipeQuantities = new int[64];
+        private byte[] recipeUnits = new byte[64];
+        private int entryCount;
+
+        void addIngredient(String name, String image) {
+            if (ingredientIds.containsKey(name)) {
+                throw new IllegalArgumentException("ingredient " + name + " declared twice");
+            }
+            if (ingredientNames.size() > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("too many ingredients");
+            }
+            ingredientIds.put(name, ingredientNames.size());
+            ingredientNames.add(name);
+            ingredientImages.add(image);
+        }
+
+        void addPastry(String name, String image) {
+            if (pastryIds.containsKey(name)) {
+                throw new IllegalArgumentException("pastry " + name + " declared twice");
+            }
+            int pastry = pastryNames.size();
+            if (pastry + 1 >= recipeOffsets.length) {
+                recipeOffsets = Arrays.copyOf(recipeOffsets, recipeOffsets.length * 2);
+            }
+            recipeOffsets[pastry] = entryCount;
+            pastryIds.put(name, pastry);
+            pastryNames.add(name);
+            pastryImages.add(image);
+        }
+
+        void addRecipeEntry(String ingredientName, int quantity, String unit) {
+            if (pastryNames.isEmpty()) {
+                throw new IllegalArgumentException("recipe line before the first pastry");
+            }
+            Integer ingredient = ingredientIds.get(ingredientName);
+            if (ingredient == null) {
+                throw new IllegalArgumentException("unknown ingredient " + ingredientName);
+            }
+            int unitId = units.indexOf(unit);
+            if (unitId < 0) {
+                if (units.size() > Byte.MAX_VALUE) {
+                    throw new IllegalArgumentException("too many units");
+                }
+                unitId = units.size();
+                units.add(unit);
+            }
+            if (entryCount == recipeIngredients.length) {
+                int capacity = entryCount * 2;
+                recipeIngredients = Arrays.copyOf(recipeIngredients, capacity);
+                recipeQuantities = Arrays.copyOf(recipeQuantities, capacity);
+                recipeUnits = Arrays.copyOf(recipeUnits, capacity);
+            }
+            recipeIngredients[entryCount] = (short) (int) ingredient;
+            recipeQuantities[entryCount] = quantity;
+            recipeUnits[entryCount] = (byte) unitId;
+            entryCount++;
+        }
+    }
+}
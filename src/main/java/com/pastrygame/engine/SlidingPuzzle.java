@@ -0,0 +1,131 @@
+package com.pastrygame.engine;
+
+import java.util.Random;
+
+/**
+ * Rules of the sliding-tile puzzle on an N×N board with one empty cell. Tiles are numbered
+ * from 1, and tile {@code t} belongs in cell {@code t - 1}, counted row by row, with the empty
+ * cell last. Boards are shuffled by random legal moves from the solved board, so every shuffle
+ * can be solved.
+ */
+public class SlidingPuzzle {
+    public static final int MIN_SIZE = 3;
+    public static final int MAX_SIZE = 5;
+    public static final int EMPTY = 0;
+
+    private final int size;
+    private final byte[] tiles;
+    private final int[] cells;
+    private int blank;
+    private int tilesInPlace;
+    private int moveCount;
+
+    /**
+     * @param size tiles per row and column, from {@link #MIN_SIZE} to {@link #MAX_SIZE}
+     */
+    public SlidingPuzzle(int size, Random random) {
+        if (size < MIN_SIZE || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Size " + size + " outside " + MIN_SIZE + ".." + MAX_SIZE);
+        }
+        this.size = size;
+        this.tiles = new byte[size * size];
+        this.cells = new int[size * size];
+        for (int cell = 0; cell < tiles.length - 1; cell++) {
+            tiles[cell] = (byte) (cell + 1);
+            cells[cell + 1] = cell;
+        }
+        blank = tiles.length - 1;
+        tilesInPlace = tiles.length - 1;
+        shuffle(random, size * size * 8);
+    }
+
+    // A random walk of the empty cell that never steps straight back.
+    private void shuffle(Random random, int steps) {
+        int[] neighbours = new int[4];
+        int previous = -1;
+        for (int step = 0; step < steps || isSolved(); step++) {
+            int count = 0;
+            for (int cell : neighboursOf(blank)) {
+                if (cell >= 0 && cell != previous) {
+                    neighbours[count++] = cell;
+                }
+            }
+            previous = blank;
+            slide(neighbours[random.nextInt(count)]);
+        }
+        moveCount = 0;
+    }
+
+    /**
+     * Returns the cells next to {@code cell}: above, below, left and right, -1 where the board ends.
+     */
+    public int[] neighboursOf(int cell) {
+        int row = cell / size;
+        int column = cell % size;
+        return new int[] {
+                row > 0 ? cell - size : -1,
+                row < size - 1 ? cell + size : -1,
+                column > 0 ? cell - 1 : -1,
+                column < size - 1 ? cell + 1 : -1
+        };
+    }
+
+    public boolean canSlide(int cell) {
+        int distance = Math.abs(cell / size - blank / size) + Math.abs(cell % size - blank % size);
+        return distance == 1;
+    }
+
+    /**
+     * Slides the tile in {@code cell} into the empty cell next to it. Returns false, leaving the
+     * board as it is, if the tile is not next to the empty cell.
+     */
+    public boolean slide(int cell) {
+        if (!canSlide(cell)) {
+            return false;
+        }
+        int tile = tiles[cell];
+        if (cell == tile - 1) {
+            tilesInPlace--;
+        }
+        if (blank == tile - 1) {
+            tilesInPlace++;
+        }
+        tiles[blank] = (byte) tile;
+        cells[tile] = blank;
+        tiles[cell] = EMPTY;
+        blank = cell;
+        moveCount++;
+        return true;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getTile(int cell) {
+        return tiles[cell];
+    }
+
+    public int getCell(int tile) {
+        return cells[tile];
+    }
+
+    public int getBlank() {
+        return blank;
+    }
+
+    /**
+     * Returns a copy of the board, one tile number per cell and {@link #EMPTY} for the empty cell.
+     */
+    public byte[] copyTiles() {
+        return tiles.clone();
+    }
+
+    public boolean isSolved() {
+        return tilesInPlace == tiles.length - 1;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+}
@@ -0,0 +1,246 @@
+package com.pastrygame.engine;
+
+/**
+ * Finds the moves that solve a {@link SlidingPuzzle} board with IDA*: depth-first searches with
+ * a growing bound on moves made plus the Manhattan distance and linear conflicts still left.
+ * <p>
+ * The heuristic is updated per move, re-counting conflicts only in the two rows or columns the
+ * moved tile touches, and the search works on one board array without allocating. Boards too
+ * deep to solve optimally within the time budget get a weighted search instead, which trades
+ * optimality for speed. The search checks the clock and its thread's interrupt flag as it goes,
+ * so it can run on a background thread and be cancelled when the board it was asked about changes.
+ */
+public final class SlidingPuzzleSolver {
+    /**
+     * Tiles to slide, in order.
+     *
+     * @param tiles   the tile numbers to slide, empty if the board is already solved
+     * @param optimal whether the tiles solve the board in the fewest moves, rather than only
+     *                bring it closer to solved
+     * @param nodes   how many boards the search looked at
+     */
+    public record Solution(int[] tiles, boolean optimal, long nodes) {
+        public int nextTile() {
+            return tiles.length == 0 ? SlidingPuzzle.EMPTY : tiles[0];
+        }
+    }
+
+    private static final int MAX_DEPTH = 511;
+    // Searches with the heuristic weighted up find longer solutions in a fraction of the time.
+    // Each gets half of the budget the one before it left.
+    private static final int[] WEIGHTS = {1, 2, 4};
+    // Nodes between two looks at the clock and the interrupt flag.
+    private static final int CHECK_INTERVAL = 1024;
+    private static final int FOUND = -1;
+    private static final int ABORTED = Integer.MAX_VALUE;
+
+    private final int size;
+    private final byte[] board;
+    private final int[][] moves;
+    // Linear conflicts of rows 0 until size and of columns size until 2 * size.
+    private final int[] lineConflicts;
+    private final int[] lineGoals;
+    private final int[] path = new int[MAX_DEPTH];
+    private final int[] bestPath = new int[MAX_DEPTH];
+    private int blank;
+    private int manhattan;
+    private int conflicts;
+    private int bestDistance = Integer.MAX_VALUE;
+    private int bestLength;
+    private int solutionLength;
+    private int weight;
+    private long deadline;
+    private long nodes;
+    private boolean cancelled;
+    private boolean timedOut;
+
+    private SlidingPuzzleSolver(byte[] tiles, int size) {
+        this.size = size;
+        this.board = tiles.clone();
+        this.moves = new int[board.length][];
+        this.lineConflicts = new int[2 * size];
+        this.lineGoals = new int[size];
+        for (int cell = 0; cell < board.length; cell++) {
+            int row = cell / size;
+            int column = cell % size;
+            int count = (row > 0 ? 1 : 0) + (row < size - 1 ? 1 : 0) + (column > 0 ? 1 : 0) + (column < size - 1 ? 1 : 0);
+            int[] neighbours = new int[count];
+            int n = 0;
+            if (row > 0) neighbours[n++] = cell - size;
+            if (row < size - 1) neighbours[n++] = cell + size;
+            if (column > 0) neighbours[n++] = cell - 1;
+            if (column < size - 1) neighbours[n++] = cell + 1;
+            moves[cell] = neighbours;
+            if (board[cell] == SlidingPuzzle.EMPTY) {
+                blank = cell;
+            } else {
+                manhattan += distance(board[cell], cell);
+            }
+        }
+        for (int line = 0; line < lineConflicts.length; line++) {
+            lineConflicts[line] = countConflicts(line);
+            conflicts += lineConflicts[line];
+        }
+    }
+
+    /**
+     * Solves {@code puzzle} on the calling thread, see {@link #solve(byte[], int, long)}.
+     */
+    public static Solution solve(SlidingPuzzle puzzle, long budgetNanos) {
+        return solve(puzzle.copyTiles(), puzzle.getSize(), budgetNanos);
+    }
+
+    /**
+     * Searches for the shortest solution of a board as returned by {@link SlidingPuzzle#copyTiles()}.
+     * If that takes more than half of {@code budgetNanos}, settles for a longer solution, and if
+     * the budget runs out before any is found, for the moves towards the board with the smallest
+     * heuristic distance seen.
+     *
+     * @return the solution, or null if the thread was interrupted
+     */
+    public static Solution solve(byte[] tiles, int size, long budgetNanos) {
+        long start = System.nanoTime();
+        return new SlidingPuzzleSolver(tiles, size).run(start, budgetNanos);
+    }
+
+    private Solution run(long start, long budgetNanos) {
+        for (int phase = 0; phase < WEIGHTS.length; phase++) {
+            weight = WEIGHTS[phase];
+            deadline = phase == WEIGHTS.length - 1 ? start + budgetNanos : start + budgetNanos - (budgetNanos >> (phase + 1));
+            timedOut = false;
+            int bound = weight * (manhattan + conflicts);
+            int next;
+            while ((next = search(0, bound, -1)) != FOUND && !cancelled && !timedOut && next != ABORTED) {
+                bound = next;
+            }
+            if (next == FOUND) {
+                return new Solution(copy(path, solutionLength), weight == 1, nodes);
+            }
+            if (cancelled) {
+                return null;
+            }
+        }
+        return new Solution(copy(bestPath, bestLength), false, nodes);
+    }
+
+    // Returns FOUND, ABORTED, or the smallest bound that would let the search go deeper.
+    private int search(int depth, int bound, int previous) {
+        int distance = manhattan + conflicts;
+        int estimate = depth + weight * distance;
+        if (estimate > bound) {
+            return estimate;
+        }
+        if (distance == 0) {
+            solutionLength = depth;
+            return FOUND;
+        }
+        if (depth > 0 && distance < bestDistance) {
+            bestDistance = distance;
+            bestLength = depth;
+            System.arraycopy(path, 0, bestPath, 0, depth);
+        }
+        if (depth == MAX_DEPTH || ((++nodes & (CHECK_INTERVAL - 1)) == 0 && outOfTime())) {
+            return ABORTED;
+        }
+        int smallest = ABORTED;
+        int from = blank;
+        for (int cell : moves[from]) {
+            if (cell == previous) {
+                continue;
+            }
+            int tile = board[cell];
+            boolean horizontal = cell / size == from / size;
+            int lineA = horizontal ? size + cell % size : cell / size;
+            int lineB = horizontal ? size + from % size : from / size;
+            int oldA = lineConflicts[lineA];
+            int oldB = lineConflicts[lineB];
+            int oldManhattan = manhattan;
+            int oldConflicts = conflicts;
+
+            board[from] = (byte) tile;
+            board[cell] = SlidingPuzzle.EMPTY;
+            blank = cell;
+            manhattan += distance(tile, from) - distance(tile, cell);
+            lineConflicts[lineA] = countConflicts(lineA);
+            lineConflicts[lineB] = countConflicts(lineB);
+            conflicts += lineConflicts[lineA] - oldA + lineConflicts[lineB] - oldB;
+            path[depth] = tile;
+
+            int next = search(depth + 1, bound, from);
+
+            board[cell] = (byte) tile;
+            board[from] = SlidingPuzzle.EMPTY;
+            blank = from;
+            manhattan = oldManhattan;
+            conflicts = oldConflicts;
+            lineConflicts[lineA] = oldA;
+            lineConflicts[lineB] = oldB;
+            if (next == FOUND || next == ABORTED && (cancelled || timedOut)) {
+                return next;
+            }
+            smallest = Math.min(smallest, next);
+        }
+        return smallest;
+    }
+
+    private boolean outOfTime() {
+        cancelled = Thread.currentThread().isInterrupted();
+        timedOut = System.nanoTime() > deadline;
+        return cancelled || timedOut;
+    }
+
+    private int distance(int tile, int cell) {
+        int goal = tile - 1;
+        return Math.abs(goal / size - cell / size) + Math.abs(goal % size - cell % size);
+    }
+
+    // Two tiles in their goal line but in the wrong order must pass each other, which costs two
+    // moves beyond their Manhattan distance. Counts the tiles to take out of the line, greedily
+    // the one in the most conflicts first, until the rest are in order.
+    private int countConflicts(int line) {
+        boolean column = line >= size;
+        int index = column ? line - size : line;
+        int count = 0;
+        for (int k = 0; k < size; k++) {
+            int tile = board[column ? k * size + index : index * size + k];
+            if (tile == SlidingPuzzle.EMPTY) {
+                continue;
+            }
+            int goal = tile - 1;
+            if ((column ? goal % size : goal / size) == index) {
+                lineGoals[count++] = column ? goal / size : goal % size;
+            }
+        }
+        int removed = 0;
+        while (true) {
+            int worst = -1;
+            int worstConflicts = 0;
+            for (int i = 0; i < count; i++) {
+                if (lineGoals[i] < 0) {
+                    continue;
+                }
+                int inConflict = 0;
+                for (int j = 0; j < count; j++) {
+                    if (lineGoals[j] >= 0 && (j < i ? lineGoals[j] > lineGoals[i] : j > i && lineGoals[j] < lineGoals[i])) {
+                        inConflict++;
+                    }
+                }
+                if (inConflict > worstConflicts) {
+                    worstConflicts = inConflict;
+                    worst = i;
+                }
+            }
+            if (worst < 0) {
+                return 2 * removed;
+            }
+            lineGoals[worst] = -1;
+            removed++;
+        }
+    }
+
+    private static int[] copy(int[] tiles, int length) {
+        int[] copy = new int[length];
+        System.arraycopy(tiles, 0, copy, 0, length);
+        return copy;
+    }
+}
@@ -0,0 +1,356 @@
+package com.pastrygame.engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A themed list of hangman words and phrases, read from a resource such as {@value #BAKING}.
+ * <p>
+ * Words are grouped by length and stored as one byte array. For every length there is a bitset
+ * over its words for each (position, symbol) pair and for each letter, so the words that still
+ * fit a partly revealed phrase are found with a few AND operations per position instead of a
+ * scan over every word. Each difficulty tier keeps a shuffled bag of word ids, so picking the
+ * next word is constant-time and no word repeats until its tier has been used up.
+ */
+public final class WordDictionary {
+    public enum Difficulty { EASY, MEDIUM, HARD }
+
+    public static final String BAKING = "/data/words/baking.txt";
+
+    // a-z, then the two characters a phrase may show from the start.
+    private static final int SYMBOLS = 28;
+    private static final int DASH = 26;
+    private static final int SPACE = 27;
+    private static final int RARE_LETTERS = mask("bfjkqvwxyz");
+
+    private static WordDictionary instance;
+
+    private final byte[] text;
+    private final int[] offsets;
+    private final Length[] lengths;
+    private final int[][] tiers;
+    private final int[] tierCursors = new int[Difficulty.values().length];
+    private final byte[] wordTiers;
+    private final long[] scratch;
+    private final long loadNanos;
+
+    // The words of one length: ids firstWord until firstWord + count. Bitsets without any bit
+    // set share one empty array.
+    private static final class Length {
+        final int firstWord;
+        final int count;
+        final long[] empty;
+        final long[][] positions;
+        final long[][] letters;
+
+        Length(int firstWord, int count, int length) {
+            this.firstWord = firstWord;
+            this.count = count;
+            this.empty = new long[(count + 63) >>> 6];
+            this.positions = new long[length * SYMBOLS][];
+            Arrays.fill(positions, empty);
+            this.letters = new long[26][];
+            Arrays.fill(letters, empty);
+        }
+
+        void set(long[][] bitsets, int index, int bit) {
+            if (bitsets[index] == empty) {
+                bitsets[index] = new long[empty.length];
+            }
+            bitsets[index][bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private WordDictionary(List<String> words, long startNanos) {
+        words.sort(Comparator.comparingInt(String::length));
+        int totalChars = 0;
+        for (String word : words) {
+            totalChars += word.length();
+        }
+        text = new byte[totalChars];
+        offsets = new int[words.size() + 1];
+        int maxLength = words.isEmpty() ? 0 : words.get(words.size() - 1).length();
+        lengths = new Length[maxLength + 1];
+        int widest = 0;
+        for (int id = 0, position = 0; id < words.size(); ) {
+            int length = words.get(id).length();
+            int end = id;
+            while (end < words.size() && words.get(end).length() == length) {
+                end++;
+            }
+            Length bucket = new Length(id, end - id, length);
+            lengths[length] = bucket;
+            widest = Math.max(widest, bucket.count);
+            for (; id < end; id++) {
+                offsets[id] = position;
+                String word = words.get(id);
+                int bit = id - bucket.firstWord;
+                for (int p = 0; p < length; p++) {
+                    int symbol = symbol(word.charAt(p));
+                    text[position++] = (byte) symbol;
+                    bucket.set(bucket.positions, p * SYMBOLS + symbol, bit);
+                    if (symbol < 26) {
+                        bucket.set(bucket.letters, symbol, bit);
+                    }
+                }
+            }
+        }
+        offsets[words.size()] = totalChars;
+        scratch = new long[(widest + 63) >>> 6];
+        wordTiers = new byte[words.size()];
+        tiers = splitIntoTiers();
+        loadNanos = System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Returns the baking dictionary bundled with the game, reading it on first use.
+     */
+    public static synchronized WordDictionary getInstance() {
+        if (instance == null) {
+            try (InputStream in = WordDictionary.class.getResourceAsStream(BAKING)) {
+                if (in == null) {
+                    throw new IllegalStateException("Word list " + BAKING + " is missing");
+                }
+                instance = load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read word list " + BAKING, e);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Reads one word or phrase per line, skipping blank lines and lines starting with '#'.
+     *
+     * @throws IllegalArgumentException if an entry has characters other than a-z, space and dash
+     */
+    public static WordDictionary load(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> words = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String word = line.strip();
+            if (word.isEmpty() || word.startsWith("#")) {
+                continue;
+            }
+            for (int i = 0; i < word.length(); i++) {
+                if (symbol(word.charAt(i)) < 0) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": unsupported character in " + word);
+                }
+            }
+            words.add(word);
+        }
+        return new WordDictionary(words, start);
+    }
+
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    public String getWord(int id) {
+        char[] chars = new char[offsets[id + 1] - offsets[id]];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = character(text[offsets[id] + i]);
+        }
+        return new String(chars);
+    }
+
+    public Difficulty getDifficulty(int id) {
+        return Difficulty.values()[wordTiers[id]];
+    }
+
+    /**
+     * Draws the next word of {@code difficulty}. Every word of the tier comes up once before any
+     * word comes up again.
+     */
+    public synchronized String nextWord(Difficulty difficulty, Random random) {
+        int[] bag = tiers[difficulty.ordinal()];
+        if (bag.length == 0) {
+            throw new IllegalStateException("No " + difficulty + " words in the dictionary");
+        }
+        int cursor = tierCursors[difficulty.ordinal()];
+        if (cursor == bag.length) {
+            cursor = 0;
+        }
+        int pick = cursor + random.nextInt(bag.length - cursor);
+        int id = bag[pick];
+        bag[pick] = bag[cursor];
+        bag[cursor] = id;
+        tierCursors[difficulty.ordinal()] = cursor + 1;
+        return getWord(id);
+    }
+
+    /**
+     * Counts the words that fit {@code pattern}, where '_' marks a hidden letter, given the
+     * letters guessed so far as a mask with bit 0 for 'a'. A hidden position can never hold a
+     * guessed letter, and a guessed letter missing from the pattern is in none of the candidates.
+     */
+    public synchronized int countCandidates(CharSequence pattern, int guessedMask) {
+        int words = filter(pattern, guessedMask);
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            count += Long.bitCount(scratch[w]);
+        }
+        return count;
+    }
+
+    public int countCandidates(HangmanLevel level) {
+        return countCandidates(level.getPattern(), level.getGuessedMask());
+    }
+
+    /**
+     * Picks the hidden letter of {@code level} that the fewest other candidates share, so
+     * revealing it rules out as many wrong words as possible. Falls back to
+     * {@link HangmanLevel#leastFrequentLetter()} when there is nothing left to rule out.
+     */
+    public synchronized char suggestHint(HangmanLevel level) {
+        int words = filter(level.getPattern(), level.getGuessedMask());
+        Length bucket = level.getPattern().length() < lengths.length ? lengths[level.getPattern().length()] : null;
+        char best = '\0';
+        int bestCount = Integer.MAX_VALUE;
+        int total = 0;
+        for (int w = 0; w < words; w++) {
+            total += Long.bitCount(scratch[w]);
+        }
+        if (total > 1) {
+            for (int hidden = level.getHiddenMask(); hidden != 0; hidden &= hidden - 1) {
+                int letter = Integer.numberOfTrailingZeros(hidden);
+                long[] bits = bucket.letters[letter];
+                int count = 0;
+                for (int w = 0; w < words; w++) {
+                    count += Long.bitCount(scratch[w] & bits[w]);
+                }
+                if (count < bestCount) {
+                    bestCount = count;
+                    best = (char) ('a' + letter);
+                }
+            }
+        }
+        return best == '\0' ? level.leastFrequentLetter() : best;
+    }
+
+    public long getLoadMicros() {
+        return loadNanos / 1_000;
+    }
+
+    public String getStats() {
+        return "words=" + size() + ", easy/medium/hard=" + tiers[0].length + "/" + tiers[1].length + "/"
+                + tiers[2].length + ", loaded in " + getLoadMicros() + " us";
+    }
+
+    // Leaves the candidates in scratch and returns how many of its longs are in use.
+    private int filter(CharSequence pattern, int guessedMask) {
+        int length = pattern.length();
+        Length bucket = length < lengths.length ? lengths[length] : null;
+        if (bucket == null) {
+            return 0;
+        }
+        int words = (bucket.count + 63) >>> 6;
+        Arrays.fill(scratch, 0, words, -1L);
+        if ((bucket.count & 63) != 0) {
+            scratch[words - 1] = (1L << bucket.count) - 1;
+        }
+        int shownMask = 0;
+        for (int p = 0; p < length; p++) {
+            char c = pattern.charAt(p);
+            if (c != '_') {
+                int symbol = symbol(c);
+                if (symbol < 0) {
+                    return 0;
+                }
+                if (symbol < 26) {
+                    shownMask |= 1 << symbol;
+                }
+                and(words, bucket.positions[p * SYMBOLS + symbol]);
+            }
+        }
+        for (int missed = guessedMask & ~shownMask; missed != 0; missed &= missed - 1) {
+            andNot(words, bucket.letters[Integer.numberOfTrailingZeros(missed)]);
+        }
+        for (int p = 0; p < length; p++) {
+            if (pattern.charAt(p) == '_') {
+                andNot(words, bucket.positions[p * SYMBOLS + DASH]);
+                andNot(words, bucket.positions[p * SYMBOLS + SPACE]);
+                for (int shown = shownMask & guessedMask; shown != 0; shown &= shown - 1) {
+                    andNot(words, bucket.positions[p * SYMBOLS + Integer.numberOfTrailingZeros(shown)]);
+                }
+            }
+        }
+        return words;
+    }
+
+    private void and(int words, long[] bits) {
+        for (int w = 0; w < words; w++) {
+            scratch[w] &= bits[w];
+        }
+    }
+
+    private void andNot(int words, long[] bits) {
+        for (int w = 0; w < words; w++) {
+            scratch[w] &= ~bits[w];
+        }
+    }
+
+    // Ranks words by how hard they are to guess and splits the ranking into three equal tiers.
+    // Few repeated letters and rare letters make a word hard; long words with repeats are easy.
+    private int[][] splitIntoTiers() {
+        int count = size();
+        Integer[] ranked = new Integer[count];
+        int[] difficulty = new int[count];
+        for (int id = 0; id < count; id++) {
+            ranked[id] = id;
+            int letterMask = 0;
+            int letters = 0;
+            for (int i = offsets[id]; i < offsets[id + 1]; i++) {
+                if (text[i] < 26) {
+                    letterMask |= 1 << text[i];
+                    letters++;
+                }
+            }
+            difficulty[id] = 3 * Integer.bitCount(letterMask) - letters + 4 * Integer.bitCount(letterMask & RARE_LETTERS);
+        }
+        Arrays.sort(ranked, Comparator.comparingInt(id -> difficulty[id]));
+        int[][] split = new int[Difficulty.values().length][];
+        for (int tier = 0; tier < split.length; tier++) {
+            int from = count * tier / split.length;
+            int to = count * (tier + 1) / split.length;
+            split[tier] = new int[to - from];
+            for (int i = from; i < to; i++) {
+                split[tier][i - from] = ranked[i];
+                wordTiers[ranked[i]] = (byte) tier;
+            }
+        }
+        return split;
+    }
+
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        return c == '-' ? DASH : c == ' ' ? SPACE : -1;
+    }
+
+    private static char character(byte symbol) {
+        return symbol == DASH ? '-' : symbol == SPACE ? ' ' : (char) ('a' + symbol);
+    }
+
+    private static int mask(String letters) {
+        int mask = 0;
+        for (int i = 0; i < letters.length(); i++) {
+            mask |= 1 << (letters.charAt(i) - 'a');
+        }
+        return mask;
+    }
+}
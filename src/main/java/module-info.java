@@ -2,8 +2,10 @@ module org.example.erdtermproject {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.desktop;
+    requires java.management;
 
 
     opens com.pastrygame to javafx.fxml;
     exports com.pastrygame;
+    exports com.pastrygame.engine;
 }
\ No newline at end of file